@@ -0,0 +1,500 @@
+package ai;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import board.Zobrist;
+import shapes.ShapeTag;
+
+/**
+ * {@code Engine} searching the game tree with negamax and alpha-beta pruning,
+ * one ply deeper at a time until its time budget runs out
+ * <p>
+ * Each iteration starts from the best move of the last one. Within the tree,
+ * moves are tried the best move stored for the position in the
+ * {@code TranspositionTable} first, then killers, the two moves per ply that
+ * last caused a cutoff there, and then by their threat score, what they do
+ * for the segments through them, with the history score, which grows every
+ * time a move causes a cutoff anywhere, telling moves of equal threat apart. A
+ * position with a winning move only searches that move, and one in which the
+ * other side threatens to win only searches the moves that block it. A win
+ * scores less the further away it is, so the quickest win and the slowest loss
+ * are preferred
+ * <p>
+ * Every move is searched unless an AlphaBetaEngine is given a width: then
+ * below the root of a window larger than {@code SearchBoard.FULL_AREA}, only
+ * that many moves, the first in this order, are searched, trading the moves
+ * the threat score rates worst for a few plies more depth. This can miss a
+ * refutation ranked below the width, so a search that left moves out never
+ * takes a win or a loss it found as proven, and goes on to the next depth
+ * <p>
+ * Positions reached again through another order of moves, in this search or
+ * the last ones, take their score from the {@code TranspositionTable} when it
+ * was searched deep enough on the same window; from another window, as after
+ * the window grew with a move, only the best move is reused. A score found
+ * without reaching the depth limit anywhere below is stored as searched to the
+ * end, and is used at any depth on its window
+ * <p>
+ * An iteration that ends without reaching the depth limit anywhere has
+ * searched every line to its end, and its result is exact. On 3 x 3 boards,
+ * and on 4 x 4 boards once a few moves are played, this happens within a
+ * second; the opening moves of a 4 x 4 board come from the deepest iteration
+ * finished in time
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class AlphaBetaEngine implements Engine {
+
+	/**
+	 * Score of a win on the next move; a win n moves away scores n less
+	 */
+	static final long WIN = 1L << 60;
+
+	/**
+	 * Deepest ply searched
+	 */
+	private static final int MAX_PLY = 100;
+
+	/**
+	 * Depth stored in the {@code TranspositionTable} for a score found without
+	 * reaching the depth limit, deeper than any search
+	 */
+	private static final int COMPLETE = Byte.MAX_VALUE;
+
+	/**
+	 * log2 of the number of slots of the {@code TranspositionTable}
+	 */
+	private static final int TABLE_BITS = 19;
+
+	/**
+	 * Number of nodes searched between two looks at the clock
+	 */
+	private static final int CLOCK_MASK = 1023;
+
+	/**
+	 * Number of history scores told apart among moves of equal threat score
+	 */
+	private static final long HISTORY_RANGE = 1L << 20;
+
+	/**
+	 * Largest threat score told apart in ordering, which keeps the ordering key
+	 * below those of the stored best move and the killers
+	 */
+	private static final long MAX_THREAT = 1L << 40;
+
+	/**
+	 * Width searching every move, the default
+	 */
+	static final int FULL_WIDTH = 0;
+
+	/**
+	 * Time budget of a move, in nanoseconds
+	 */
+	private final long budget_Nanos;
+
+	/**
+	 * Most moves searched below the root on windows larger than
+	 * {@code SearchBoard.FULL_AREA}, the first ones in order, or
+	 * {@code FULL_WIDTH}
+	 */
+	private final int width;
+
+	/**
+	 * Positions searched by this and earlier searches, kept from move to move
+	 */
+	private final TranspositionTable table = new TranspositionTable(AlphaBetaEngine.TABLE_BITS);
+
+	/**
+	 * Two killer moves per ply, the latest first, -1 where there is none
+	 */
+	private final int[][] killers = new int[AlphaBetaEngine.MAX_PLY][2];
+
+	/**
+	 * History score of each window cell, by {@code ShapeTag.ordinal()} of the
+	 * side to move
+	 */
+	private int[][] history;
+
+	/**
+	 * Candidate moves per ply, created the first time a ply is reached and sized
+	 * to the window
+	 */
+	private int[][] moves;
+
+	/**
+	 * Ordering keys of the candidates per ply, paired with {@code moves}
+	 */
+	private long[][] keys;
+
+	/**
+	 * {@code SearchBoard.getWindow()} of the current search
+	 */
+	private long window;
+
+	/**
+	 * Time at which the current search has to stop
+	 */
+	private long deadline;
+
+	/**
+	 * Number of nodes visited by the current search
+	 */
+	private long nodes;
+
+	/**
+	 * Stats of the last search
+	 */
+	private String stats = "";
+
+	/**
+	 * Internal flag for the current search running out of time, after which
+	 * every score it returns is thrown away
+	 */
+	private boolean timed_Out;
+
+	/**
+	 * Internal flag for the current iteration evaluating a position at the
+	 * depth limit rather than at the end of the game
+	 */
+	private boolean cut_Off;
+
+	/**
+	 * Internal flag for the current iteration leaving moves out below the root,
+	 * after which none of its scores is proven
+	 */
+	private boolean narrowed;
+
+	/**
+	 * Constructs an AlphaBetaEngine searching every move
+	 *
+	 * @param millis time budget of a move, in milliseconds
+	 */
+	AlphaBetaEngine(int millis) {
+		this(millis, AlphaBetaEngine.FULL_WIDTH);
+	}
+
+	/**
+	 * Constructs an AlphaBetaEngine
+	 *
+	 * @param millis time budget of a move, in milliseconds
+	 * @param width  most moves searched below the root on windows larger than
+	 *               {@code SearchBoard.FULL_AREA}, or {@code FULL_WIDTH} to
+	 *               search every move
+	 */
+	AlphaBetaEngine(int millis, int width) {
+		this.budget_Nanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+		this.width = width;
+	}
+
+	@Override
+	public int chooseMove(SearchBoard board, ShapeTag tag) {
+		long start = System.nanoTime();
+		this.deadline = start + this.budget_Nanos;
+		this.nodes = 0;
+		this.timed_Out = false;
+		this.prepare(board.getArea());
+		this.table.nextSearch();
+		this.window = board.getWindow();
+
+		int[] rootMoves = this.buffer(0, board.getArea());
+		int count = board.candidates(rootMoves);
+		if (count == 0) {
+			this.stats = "";
+			return -1;
+		}
+		board.rank(rootMoves, count, tag);
+
+		int best = rootMoves[0];
+		int maxDepth = Math.min(AlphaBetaEngine.MAX_PLY - 1, board.getEmpty());
+		int completed = 0;
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			this.cut_Off = false;
+			this.narrowed = false;
+			long alpha = -AlphaBetaEngine.WIN - 1;
+			int iterationBest = -1;
+
+			for (int i = 0; i < count; i++) {
+				int move = rootMoves[i];
+				board.place(move, tag);
+				long score = -this.negamax(board, AlphaBetaEngine.other(tag), depth - 1, 1,
+						-AlphaBetaEngine.WIN - 1, -alpha);
+				board.undo();
+				if (this.timed_Out) {
+					break;
+				}
+				if (score > alpha) {
+					alpha = score;
+					iterationBest = move;
+					// try the best move first in the next iteration
+					System.arraycopy(rootMoves, 0, rootMoves, 1, i);
+					rootMoves[0] = move;
+				}
+			}
+
+			// a move that beat every one searched before time ran out is still the best known
+			if (iterationBest >= 0) {
+				best = iterationBest;
+			}
+			if (!this.timed_Out) {
+				completed = depth;
+			}
+			// a win or loss found with moves left out may have missed the refutation
+			if (this.timed_Out || !this.cut_Off
+					|| !this.narrowed && Math.abs(alpha) > AlphaBetaEngine.WIN - AlphaBetaEngine.MAX_PLY) {
+				break;
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		this.stats = String.format(Locale.ROOT, "Depth %d, %,d nodes/s", completed, (long) (this.nodes / seconds));
+		return best;
+	}
+
+	@Override
+	public String getStats() {
+		return this.stats;
+	}
+
+	/**
+	 * Scores the position for the side to move, searching {@code depth} more
+	 * plies
+	 *
+	 * @param board board after the last move
+	 * @param tag   {@code ShapeTag} to move
+	 * @param depth number of plies left to search
+	 * @param ply   number of plies from the root
+	 * @param alpha score the side to move already has elsewhere
+	 * @param beta  score the other side already has elsewhere, negated
+	 * @return score of the position, from the view of {@code tag}
+	 */
+	private long negamax(SearchBoard board, ShapeTag tag, int depth, int ply, long alpha, long beta) {
+		if ((++this.nodes & AlphaBetaEngine.CLOCK_MASK) == 0 && System.nanoTime() > this.deadline) {
+			this.timed_Out = true;
+		}
+		if (this.timed_Out) {
+			return 0;
+		}
+
+		if (board.getWinner() != null) {
+			// the other side completed a segment with the last move
+			return -(AlphaBetaEngine.WIN - ply);
+		}
+		if (board.isDrawn()) {
+			return 0;
+		}
+		if (depth == 0 || ply == AlphaBetaEngine.MAX_PLY - 1) {
+			this.cut_Off = true;
+			return board.evaluate(tag);
+		}
+
+		long key = board.getHash() ^ Zobrist.toMove(tag);
+		int slot = this.table.probe(key);
+		int tableMove = -1;
+		if (slot >= 0) {
+			tableMove = this.table.move(slot) < 0 ? -1 : board.toWindowCell(this.table.move(slot));
+			// a score from another window was found with other segments and other moves
+			if (this.table.window(slot) == this.window && this.table.depth(slot) >= depth) {
+				long score = AlphaBetaEngine.fromTable(this.table.score(slot), ply);
+				byte bound = this.table.bound(slot);
+				if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER && score >= beta
+						|| bound == TranspositionTable.UPPER && score <= alpha) {
+					this.cut_Off |= this.table.depth(slot) != AlphaBetaEngine.COMPLETE;
+					return score;
+				}
+			}
+		}
+
+		int[] moves = this.buffer(ply, board.getArea());
+		int count = board.candidates(moves);
+		count = board.narrow(moves, count, tag);
+		this.order(board, moves, count, tag, ply, tableMove);
+
+		// whether the depth limit is reached below this position, on top of elsewhere
+		boolean cutOff = this.cut_Off;
+		this.cut_Off = false;
+		if (this.width != AlphaBetaEngine.FULL_WIDTH && count > this.width
+				&& board.getArea() > SearchBoard.FULL_AREA) {
+			// the moves left out make the score no more exact than a depth limit would
+			count = this.width;
+			this.cut_Off = true;
+			this.narrowed = true;
+		}
+
+		long start = alpha;
+		long best = -AlphaBetaEngine.WIN - 1;
+		int bestMove = -1;
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			board.place(move, tag);
+			long score = -this.negamax(board, AlphaBetaEngine.other(tag), depth - 1, ply + 1, -beta, -alpha);
+			board.undo();
+			if (this.timed_Out) {
+				return 0;
+			}
+
+			if (score > best) {
+				best = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						this.reward(move, tag, depth, ply);
+						break;
+					}
+				}
+			}
+		}
+
+		byte bound = best <= start ? TranspositionTable.UPPER
+				: best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+		this.table.store(key, this.window, this.cut_Off ? depth : AlphaBetaEngine.COMPLETE, AlphaBetaEngine.toTable(best, ply),
+				bound, bestMove < 0 ? -1 : board.toBoardCell(bestMove));
+		this.cut_Off |= cutOff;
+		return best;
+	}
+
+	/**
+	 * Sorts candidate moves the stored best move first, then killers, then by
+	 * threat score, and by history score among moves of equal threat
+	 *
+	 * @param board     board to move on
+	 * @param moves     candidate moves
+	 * @param count     number of candidates
+	 * @param tag       {@code ShapeTag} to move
+	 * @param ply       number of plies from the root
+	 * @param tableMove best move stored for the position, -1 if there is none
+	 */
+	private void order(SearchBoard board, int[] moves, int count, ShapeTag tag, int ply, int tableMove) {
+		long[] keys = this.keys[ply];
+		int[] history = this.history[tag.ordinal()];
+		int[] killers = this.killers[ply];
+
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			long key = move == tableMove ? Long.MAX_VALUE
+					: move == killers[0] ? Long.MAX_VALUE - 1
+							: move == killers[1] ? Long.MAX_VALUE - 2
+									: Math.min(board.threat(move, tag), AlphaBetaEngine.MAX_THREAT)
+											* AlphaBetaEngine.HISTORY_RANGE
+											+ Math.min(history[move], AlphaBetaEngine.HISTORY_RANGE - 1);
+
+			// insertion sort, as candidate lists are short
+			int j = i;
+			while (j > 0 && keys[j - 1] < key) {
+				keys[j] = keys[j - 1];
+				moves[j] = moves[j - 1];
+				j--;
+			}
+			keys[j] = key;
+			moves[j] = move;
+		}
+	}
+
+	/**
+	 * Remembers a move that caused a cutoff, as a killer of its ply and in the
+	 * history of its side
+	 *
+	 * @param move  window cell of the move
+	 * @param tag   {@code ShapeTag} that moved
+	 * @param depth number of plies that were left to search
+	 * @param ply   number of plies from the root
+	 */
+	private void reward(int move, ShapeTag tag, int depth, int ply) {
+		int[] killers = this.killers[ply];
+		if (killers[0] != move) {
+			killers[1] = killers[0];
+			killers[0] = move;
+		}
+		this.history[tag.ordinal()][move] += depth * depth;
+	}
+
+	/**
+	 * Sizes the per ply buffers for a window, and forgets killers and history of
+	 * the last search, whose window cells no longer mean the same
+	 *
+	 * @param area number of cells of the window
+	 */
+	private void prepare(int area) {
+		if (this.moves == null) {
+			this.moves = new int[AlphaBetaEngine.MAX_PLY][];
+			this.keys = new long[AlphaBetaEngine.MAX_PLY][];
+		}
+		if (this.history == null || this.history[0].length != area) {
+			this.history = new int[ShapeTag.values().length][area];
+		} else {
+			for (int[] scores : this.history) {
+				Arrays.fill(scores, 0);
+			}
+		}
+		for (int[] killers : this.killers) {
+			Arrays.fill(killers, -1);
+		}
+	}
+
+	/**
+	 * Access to the candidate move buffer of a ply, creating it or growing it to
+	 * the window first
+	 *
+	 * @param ply  number of plies from the root
+	 * @param area number of cells of the window
+	 * @return candidate move buffer of {@code ply}
+	 */
+	private int[] buffer(int ply, int area) {
+		if (this.moves[ply] == null || this.moves[ply].length < area) {
+			this.moves[ply] = new int[area];
+			this.keys[ply] = new long[area];
+		}
+		return this.moves[ply];
+	}
+
+	/**
+	 * Converts a score into one to store, counting a win from the position
+	 * rather than from the root
+	 *
+	 * @param score score of the position
+	 * @param ply   number of plies from the root
+	 * @return score to store in the {@code TranspositionTable}
+	 */
+	private static long toTable(long score, int ply) {
+		if (score > AlphaBetaEngine.WIN - AlphaBetaEngine.MAX_PLY) {
+			return score + ply;
+		}
+		if (score < -AlphaBetaEngine.WIN + AlphaBetaEngine.MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Converts a stored score back into one counting a win from the root
+	 *
+	 * @param score score stored in the {@code TranspositionTable}
+	 * @param ply   number of plies from the root
+	 * @return score of the position
+	 */
+	private static long fromTable(long score, int ply) {
+		if (score > AlphaBetaEngine.WIN - AlphaBetaEngine.MAX_PLY) {
+			return score - ply;
+		}
+		if (score < -AlphaBetaEngine.WIN + AlphaBetaEngine.MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Access to the {@code ShapeTag} of the other side
+	 *
+	 * @param tag {@code ShapeTag} of one side
+	 * @return {@code ShapeTag} of the other side
+	 */
+	private static ShapeTag other(ShapeTag tag) {
+		return tag == ShapeTag.SHAPE_X ? ShapeTag.SHAPE_O : ShapeTag.SHAPE_X;
+	}
+
+}
@@ -0,0 +1,37 @@
+package ai;
+
+import shapes.ShapeTag;
+
+/**
+ * Source of moves for a {@code Player} played by the computer
+ * <p>
+ * An Engine is handed a copy of the board, so it may take as long as its time
+ * budget allows on a thread of its own while the {@code Game} goes on drawing
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public interface Engine {
+
+	/**
+	 * Chooses the move to play next
+	 *
+	 * @param board copy of the board, which may be changed while searching but
+	 *              is left as it was given
+	 * @param tag   {@code ShapeTag} to move for
+	 * @return window cell of {@code board} to place {@code tag} into, -1 if
+	 *         there is no empty cell
+	 */
+	int chooseMove(SearchBoard board, ShapeTag tag);
+
+	/**
+	 * Describes how fast the last move was searched, for the {@code HUD}
+	 *
+	 * @return short line of search speed, empty if nothing was searched
+	 */
+	String getStats();
+
+}
@@ -0,0 +1,34 @@
+package ai;
+
+/**
+ * Enumeration of the {@code Engine} implementations a {@code Player} played
+ * by the computer can use
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public enum EngineType {
+
+	ALPHA_BETA, MONTE_CARLO;
+
+	/**
+	 * Constructs an {@code Engine} of this type; {@code MONTE_CARLO} searches
+	 * with one thread per core. Either answers from a {@code SolvedTable} instead
+	 * of searching on boards one was loaded for
+	 *
+	 * @param millis time budget of a move, in milliseconds
+	 * @return new {@code Engine}
+	 */
+	public Engine create(int millis) {
+		switch (this) {
+		case MONTE_CARLO:
+			return new TableEngine(new MonteCarloEngine(millis, Runtime.getRuntime().availableProcessors()));
+		default:
+			return new TableEngine(new AlphaBetaEngine(millis));
+		}
+	}
+
+}
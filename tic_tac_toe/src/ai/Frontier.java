@@ -0,0 +1,182 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Set of the empty cells of a {@code SearchBoard} window within a radius of
+ * any {@code Shape}, kept up to date by every move placed and taken back
+ * <p>
+ * Every cell counts the Shapes within the radius of it, in rows and columns,
+ * so a move only touches the square of cells around it rather than the whole
+ * window. A cell is in the set while it is empty and its count is above 0. The
+ * set is a dense list with the position of every cell in it, so adding,
+ * removing and listing cost no more than the cells concerned
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class Frontier {
+
+	/**
+	 * Number of rows and columns of the window
+	 */
+	private final int size;
+
+	/**
+	 * Largest distance, in rows or columns, of a cell of the set from a
+	 * {@code Shape}
+	 */
+	private final int radius;
+
+	/**
+	 * Cells of the window, shared with the {@code SearchBoard} that keeps this
+	 * Frontier
+	 */
+	private final byte[] cells;
+
+	/**
+	 * Number of Shapes within the radius of each cell
+	 */
+	private final short[] near;
+
+	/**
+	 * Cells of the set, in its first {@code count} entries
+	 */
+	private final int[] members;
+
+	/**
+	 * Position of each cell in {@code members}, -1 for a cell not in the set
+	 */
+	private final int[] positions;
+
+	/**
+	 * Number of cells in the set
+	 */
+	private int count;
+
+	/**
+	 * Constructs an empty Frontier over an empty window
+	 *
+	 * @param size   number of rows and columns of the window
+	 * @param radius largest distance of a cell of the set from a {@code Shape}
+	 * @param cells  cells of the window
+	 */
+	Frontier(int size, int radius, byte[] cells) {
+		this.size = size;
+		this.radius = radius;
+		this.cells = cells;
+		this.near = new short[cells.length];
+		this.members = new int[cells.length];
+		this.positions = new int[cells.length];
+		Arrays.fill(this.positions, -1);
+	}
+
+	/**
+	 * Constructs a copy of a Frontier over a copy of its cells
+	 *
+	 * @param frontier Frontier to copy
+	 * @param cells    copy of the cells of its window
+	 */
+	Frontier(Frontier frontier, byte[] cells) {
+		this.size = frontier.size;
+		this.radius = frontier.radius;
+		this.cells = cells;
+		this.near = frontier.near.clone();
+		this.members = frontier.members.clone();
+		this.positions = frontier.positions.clone();
+		this.count = frontier.count;
+	}
+
+	/**
+	 * Takes a cell a {@code Shape} was just placed into out of the set, and adds
+	 * the empty cells around it
+	 *
+	 * @param cell window cell
+	 */
+	void place(int cell) {
+		this.remove(cell);
+		int row = cell / this.size;
+		int col = cell % this.size;
+		int top = Math.max(0, row - this.radius);
+		int bottom = Math.min(this.size - 1, row + this.radius);
+		int left = Math.max(0, col - this.radius);
+		int right = Math.min(this.size - 1, col + this.radius);
+		for (int r = top; r <= bottom; r++) {
+			for (int c = left; c <= right; c++) {
+				int around = r * this.size + c;
+				if (this.near[around]++ == 0 && this.cells[around] == 0) {
+					this.add(around);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes the cells no other {@code Shape} is near out of the set, after the
+	 * Shape in a cell was taken back, and adds the cell back if one is
+	 *
+	 * @param cell window cell
+	 */
+	void undo(int cell) {
+		int row = cell / this.size;
+		int col = cell % this.size;
+		int top = Math.max(0, row - this.radius);
+		int bottom = Math.min(this.size - 1, row + this.radius);
+		int left = Math.max(0, col - this.radius);
+		int right = Math.min(this.size - 1, col + this.radius);
+		for (int r = top; r <= bottom; r++) {
+			for (int c = left; c <= right; c++) {
+				int around = r * this.size + c;
+				if (--this.near[around] == 0) {
+					this.remove(around);
+				}
+			}
+		}
+		if (this.near[cell] > 0) {
+			this.add(cell);
+		}
+	}
+
+	/**
+	 * Lists the cells of the set
+	 *
+	 * @param out array of at least as many entries as the window has cells to list the window
+	 *            cells in
+	 * @return number of cells listed
+	 */
+	int list(int[] out) {
+		System.arraycopy(this.members, 0, out, 0, this.count);
+		return this.count;
+	}
+
+	/**
+	 * Adds a cell to the end of the set
+	 *
+	 * @param cell window cell not in the set
+	 */
+	private void add(int cell) {
+		this.positions[cell] = this.count;
+		this.members[this.count++] = cell;
+	}
+
+	/**
+	 * Takes a cell out of the set, moving the last cell of the set into its
+	 * place
+	 *
+	 * @param cell window cell, in the set or not
+	 */
+	private void remove(int cell) {
+		int position = this.positions[cell];
+		if (position < 0) {
+			return;
+		}
+		int last = this.members[--this.count];
+		this.members[position] = last;
+		this.positions[last] = position;
+		this.positions[cell] = -1;
+	}
+
+}
@@ -0,0 +1,393 @@
+package ai;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Engine} growing a Monte Carlo search tree from random playouts, with
+ * one thread per core sharing the tree
+ * <p>
+ * Every thread walks the tree down from the root on a copy of the board of its
+ * own, choosing children by UCT, plays the rest of the round out at random from
+ * the leaf it reaches, and adds the result to every node on the way. A node
+ * grows its children the second time it is reached, limited to forced moves
+ * when there are any, as in {@code AlphaBetaEngine}, and ranked by threat
+ * score
+ * <p>
+ * Nodes are kept in parallel arrays rather than objects, and their statistics
+ * are only changed atomically, so threads share the tree without locks. A
+ * thread counts a visit on every node of its way down before its playout,
+ * which scores the node as lost until the result comes in, so that the other
+ * threads spread out to other lines meanwhile. Playouts run on a scratch array
+ * of cells kept by each thread, allocating nothing
+ * <p>
+ * The threads searching next to the one asking for a move are kept from move
+ * to move, and only end once idle for {@code KEEP_ALIVE_SECONDS}. The tree
+ * starts out with {@code MIN_NODES} nodes and grows fourfold for the next move
+ * whenever a search fills it, so an engine only takes up the memory its time
+ * budget can fill
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class MonteCarloEngine implements Engine {
+
+	/**
+	 * Most nodes the tree can grow to; nodes reached once it is full are played
+	 * out without growing children
+	 */
+	private static final int MAX_NODES = 1 << 20;
+
+	/**
+	 * Number of nodes the tree holds before any search filled it
+	 */
+	private static final int MIN_NODES = 1 << 14;
+
+	/**
+	 * Number of seconds an idle search thread is kept for
+	 */
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	/**
+	 * Weight of exploring little visited children against exploiting the ones
+	 * scoring best
+	 */
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	/**
+	 * Child count of a node whose children have not been grown
+	 */
+	private static final int UNEXPANDED = -1;
+
+	/**
+	 * Child count of a node whose children another thread is growing
+	 */
+	private static final int EXPANDING = -2;
+
+	/**
+	 * Child count of a node whose children did not fit into the tree
+	 */
+	private static final int FULL = -3;
+
+	/**
+	 * Time budget of a move, in nanoseconds
+	 */
+	private final long budget_Nanos;
+
+	/**
+	 * Number of threads searching
+	 */
+	private final int threads;
+
+	/**
+	 * Threads searching next to the one calling {@code chooseMove}, {@code null}
+	 * when searching with one thread
+	 */
+	private final ThreadPoolExecutor workers;
+
+	/**
+	 * Number of nodes the tree holds, the length of the node arrays
+	 */
+	private int capacity;
+
+	/**
+	 * Window cell of the move leading to each node
+	 */
+	private int[] node_Move;
+
+	/**
+	 * Node number of the first child of each node; the children of a node are
+	 * numbered one after the other
+	 */
+	private int[] first_Child;
+
+	/**
+	 * Number of children of each node, or {@code UNEXPANDED}, {@code EXPANDING}
+	 * or {@code FULL}
+	 * <p>
+	 * Set after {@code node_Move} and {@code first_Child} are written, so that a
+	 * thread reading a count also sees the children it counts
+	 */
+	private AtomicIntegerArray child_Count;
+
+	/**
+	 * Number of playouts through each node, counting the ones still running
+	 */
+	private AtomicIntegerArray visits;
+
+	/**
+	 * Half points won through each node by the side that made its move, 2 for a
+	 * win and 1 for a draw
+	 */
+	private AtomicIntegerArray points;
+
+	/**
+	 * Number of nodes the current search added to the tree, or tried to add
+	 * once it is full
+	 */
+	private final AtomicInteger node_Count = new AtomicInteger();
+
+	/**
+	 * Number of playouts of the current search
+	 */
+	private final AtomicInteger playouts = new AtomicInteger();
+
+	/**
+	 * Time at which the current search has to stop
+	 */
+	private long deadline;
+
+	/**
+	 * Stats of the last search
+	 */
+	private String stats = "";
+
+	/**
+	 * Constructs a MonteCarloEngine
+	 *
+	 * @param millis  time budget of a move, in milliseconds
+	 * @param threads number of threads to search with
+	 */
+	MonteCarloEngine(int millis, int threads) {
+		this.budget_Nanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+		this.threads = Math.max(1, threads);
+
+		if (this.threads > 1) {
+			AtomicInteger started = new AtomicInteger();
+			this.workers = new ThreadPoolExecutor(this.threads - 1, this.threads - 1,
+					MonteCarloEngine.KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (task) -> {
+						Thread thread = new Thread(task, "MonteCarlo-" + started.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			this.workers.allowCoreThreadTimeOut(true);
+		} else {
+			this.workers = null;
+		}
+		this.grow(MonteCarloEngine.MIN_NODES);
+	}
+
+	@Override
+	public int chooseMove(SearchBoard board, ShapeTag tag) {
+		long start = System.nanoTime();
+		this.deadline = start + this.budget_Nanos;
+		this.playouts.set(0);
+		// no thread is searching, so the node arrays can be swapped for larger ones
+		if (this.node_Count.get() >= this.capacity) {
+			this.grow(4 * this.capacity);
+		}
+
+		// the root is grown up front, so that a forced or only move needs no search
+		this.node_Count.set(1);
+		this.child_Count.set(0, MonteCarloEngine.UNEXPANDED);
+		this.visits.set(0, 0);
+		this.points.set(0, 0);
+		int[] moves = new int[board.getArea()];
+		int count = this.expand(0, board, tag, moves);
+		if (count <= 1) {
+			this.stats = "";
+			return count == 1 ? this.node_Move[this.first_Child[0]] : -1;
+		}
+
+		Future<?>[] searches = new Future<?>[this.threads - 1];
+		for (int i = 0; i < searches.length; i++) {
+			SearchBoard copy = board.copy();
+			searches[i] = this.workers.submit(() -> this.search(copy, tag));
+		}
+		this.search(board.copy(), tag);
+		for (Future<?> search : searches) {
+			try {
+				search.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				e.printStackTrace();
+			}
+		}
+
+		int first = this.first_Child[0];
+		int best = first;
+		for (int child = first + 1; child < first + count; child++) {
+			if (this.visits.get(child) > this.visits.get(best)) {
+				best = child;
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		this.stats = String.format(Locale.ROOT, "%,d playouts/s on %d threads",
+				(long) (this.playouts.get() / seconds), this.threads);
+		return this.node_Move[best];
+	}
+
+	@Override
+	public String getStats() {
+		return this.stats;
+	}
+
+	/**
+	 * Runs playouts from the root until the time budget is used up
+	 *
+	 * @param board copy of the board at the root, for this thread alone
+	 * @param tag   {@code ShapeTag} to move at the root
+	 */
+	private void search(SearchBoard board, ShapeTag tag) {
+		int[] path = new int[board.getEmpty() + 1];
+		int[] cells = new int[board.getArea()];
+		byte[] scratch = new byte[board.getArea()];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int playouts = 0;
+
+		while (System.nanoTime() < this.deadline) {
+			// walk down, counting a visit on every node on the way
+			int node = 0;
+			int depth = 0;
+			ShapeTag toMove = tag;
+			path[depth++] = node;
+			this.visits.incrementAndGet(node);
+
+			while (board.getWinner() == null && !board.isDrawn()) {
+				int count = this.child_Count.get(node);
+				if (count == MonteCarloEngine.UNEXPANDED && this.visits.get(node) > 1) {
+					count = this.expand(node, board, toMove, cells);
+				}
+				if (count <= 0) {
+					break;
+				}
+
+				node = this.select(node, count);
+				board.place(this.node_Move[node], toMove);
+				toMove = MonteCarloEngine.other(toMove);
+				path[depth++] = node;
+				this.visits.incrementAndGet(node);
+			}
+
+			ShapeTag winner = board.playout(toMove, scratch, cells, random);
+
+			// the mover of a node is the side not to move after it
+			ShapeTag mover = MonteCarloEngine.other(toMove);
+			for (int i = depth - 1; i >= 0; i--) {
+				this.points.addAndGet(path[i], winner == null ? 1 : winner == mover ? 2 : 0);
+				mover = MonteCarloEngine.other(mover);
+			}
+			playouts++;
+
+			while (board.getPlayed() > 0) {
+				board.undo();
+			}
+		}
+
+		// counted once at the end rather than per playout, as all threads would share it
+		this.playouts.addAndGet(playouts);
+	}
+
+	/**
+	 * Grows the children of a node, one per candidate move, unless another
+	 * thread is already growing them
+	 *
+	 * @param node  node to grow
+	 * @param board board at the node
+	 * @param tag   {@code ShapeTag} to move at the node
+	 * @param moves array of at least {@code board.getArea()} entries to list
+	 *              candidates in
+	 * @return number of children of the node, or a negative child count if it has
+	 *         none to use yet
+	 */
+	private int expand(int node, SearchBoard board, ShapeTag tag, int[] moves) {
+		if (!this.child_Count.compareAndSet(node, MonteCarloEngine.UNEXPANDED, MonteCarloEngine.EXPANDING)) {
+			return this.child_Count.get(node);
+		}
+
+		int count = board.narrow(moves, board.candidates(moves), tag);
+		// unvisited children are tried in order, so the most threatening first
+		board.rank(moves, count, tag);
+		// looked at first so that the count stops growing soon once the tree is full
+		int first = this.node_Count.get() >= this.capacity ? this.capacity : this.node_Count.getAndAdd(count);
+		if (first + count > this.capacity) {
+			this.child_Count.set(node, MonteCarloEngine.FULL);
+			return MonteCarloEngine.FULL;
+		}
+
+		for (int i = 0; i < count; i++) {
+			int child = first + i;
+			this.node_Move[child] = moves[i];
+			this.child_Count.set(child, MonteCarloEngine.UNEXPANDED);
+			this.visits.set(child, 0);
+			this.points.set(child, 0);
+		}
+		this.first_Child[node] = first;
+		this.child_Count.set(node, count);
+		return count;
+	}
+
+	/**
+	 * Replaces the node arrays with ones holding a number of nodes, up to
+	 * {@code MAX_NODES}; only called while no thread is searching
+	 *
+	 * @param nodes number of nodes wanted
+	 */
+	private void grow(int nodes) {
+		nodes = Math.min(MonteCarloEngine.MAX_NODES, nodes);
+		if (nodes == this.capacity) {
+			return;
+		}
+		this.capacity = nodes;
+		this.node_Move = new int[this.capacity];
+		this.first_Child = new int[this.capacity];
+		this.child_Count = new AtomicIntegerArray(this.capacity);
+		this.visits = new AtomicIntegerArray(this.capacity);
+		this.points = new AtomicIntegerArray(this.capacity);
+	}
+
+	/**
+	 * Chooses the child of a node to walk down to: the first one not visited
+	 * yet, or else the one with the highest upper confidence bound
+	 *
+	 * @param node  node to choose a child of
+	 * @param count number of children of the node
+	 * @return node number of the chosen child
+	 */
+	private int select(int node, int count) {
+		int first = this.first_Child[node];
+		double logVisits = Math.log(Math.max(1, this.visits.get(node)));
+
+		int best = first;
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (int child = first; child < first + count; child++) {
+			int visits = this.visits.get(child);
+			if (visits == 0) {
+				return child;
+			}
+			double bound = this.points.get(child) / (2.0 * visits)
+					+ MonteCarloEngine.EXPLORATION * Math.sqrt(logVisits / visits);
+			if (bound > bestBound) {
+				bestBound = bound;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Access to the {@code ShapeTag} of the other side
+	 *
+	 * @param tag {@code ShapeTag} of one side
+	 * @return {@code ShapeTag} of the other side
+	 */
+	private static ShapeTag other(ShapeTag tag) {
+		return tag == ShapeTag.SHAPE_X ? ShapeTag.SHAPE_O : ShapeTag.SHAPE_X;
+	}
+
+}
@@ -0,0 +1,730 @@
+package ai;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import board.Zobrist;
+import shapes.ShapeTag;
+
+/**
+ * Copy of the part of a {@code Grid} board around its {@code Shape} objects,
+ * made for searching: moves are placed and taken back in place, and the
+ * winner, whether the round is drawn and a static evaluation are kept up to
+ * date by each of them
+ * <p>
+ * The copy covers a square window, the bounding box of the Shapes grown by
+ * {@code MARGIN} or {@code length} cells and clipped to the board, so that
+ * searching a large or unbounded board only allocates for the area being
+ * played on. Cells of the
+ * window are numbered row * window size + column, and converted back with
+ * {@code toBoardCell}
+ * <p>
+ * Like {@code SegmentIndex}, every segment of {@code length} cells in a row,
+ * column or diagonal of the window counts how many of each {@code ShapeTag} it
+ * holds. A segment holding only one tag is worth more to that tag the more of
+ * it it holds, a segment holding both is worth nothing, and the evaluation is
+ * the sum over all segments
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public final class SearchBoard {
+
+	/**
+	 * Fewest cells the window reaches past the outermost {@code Shape} on each
+	 * side; it reaches at least {@code length} cells, so that a segment no
+	 * {@code Shape} touches yet fits in beside them
+	 */
+	static final int MARGIN = 6;
+
+	/**
+	 * Largest window area on which every empty cell is a candidate move; on
+	 * larger windows only empty cells near a {@code Shape} are
+	 */
+	static final int FULL_AREA = 100;
+
+	/**
+	 * Largest distance, in rows or columns, of a candidate move from a
+	 * {@code Shape} on windows larger than {@code FULL_AREA}
+	 */
+	static final int RADIUS = 2;
+
+	/**
+	 * Largest value of a segment, which keeps the sum over all segments from
+	 * overflowing
+	 */
+	private static final long MAX_WEIGHT = 1L << 40;
+
+	/**
+	 * Row steps of the row, column, diagonal and anti-diagonal axes
+	 */
+	private static final int[] AXIS_ROW = { 0, 1, 1, 1 };
+
+	/**
+	 * Column steps of the four axes, paired with {@code AXIS_ROW}
+	 */
+	private static final int[] AXIS_COL = { 1, 0, 1, -1 };
+
+	/**
+	 * Number of rows and columns of the board this is a copy of
+	 */
+	private final int board_Size;
+
+	/**
+	 * Board row of the first row of the window
+	 */
+	private final int first_Row;
+
+	/**
+	 * Board column of the first column of the window
+	 */
+	private final int first_Col;
+
+	/**
+	 * Number of rows and columns of the window
+	 */
+	private final int size;
+
+	/**
+	 * Number of cells in a row needed to win
+	 */
+	private final int length;
+
+	/**
+	 * {@code ShapeTag.ordinal() + 1} of each cell of the window, 0 for an empty
+	 * cell
+	 */
+	private final byte[] cells;
+
+	/**
+	 * Number of each {@code ShapeTag} per segment, by {@code ShapeTag.ordinal()}
+	 * <p>
+	 * Segment ids are axis * size * size + start cell, as in
+	 * {@code SegmentIndex}; ids of segments that do not fit into the window are
+	 * never used
+	 */
+	private final short[][] counts;
+
+	/**
+	 * Value of a segment holding that many of one {@code ShapeTag} and none of
+	 * the other
+	 */
+	private final long[] weights;
+
+	/**
+	 * Occupied cells, the {@code Shape} objects copied from the board first and
+	 * then the moves placed since, in order
+	 */
+	private final int[] stones;
+
+	/**
+	 * Number of entries of {@code stones} in use
+	 */
+	private int stone_Count;
+
+	/**
+	 * Number of entries of {@code stones} copied from the board, which cannot be
+	 * taken back
+	 */
+	private final int initial_Stones;
+
+	/**
+	 * Sum of the values of all segments, counted for {@code ShapeTag.SHAPE_X}
+	 * and against {@code ShapeTag.SHAPE_O}
+	 */
+	private long score;
+
+	/**
+	 * Zobrist hash of the occupied cells, from their cell indices on the board,
+	 * so it equals the hash of the {@code Grid} this is a copy of
+	 */
+	private long hash;
+
+	/**
+	 * Number of segments of the window that hold at most one kind of
+	 * {@code ShapeTag}
+	 */
+	private int live;
+
+	/**
+	 * {@code ShapeTag.ordinal() + 1} of the tag that completed a segment, 0 while
+	 * none has
+	 */
+	private int winner;
+
+	/**
+	 * Empty cells within {@code RADIUS} of a {@code Shape}
+	 */
+	private final Frontier frontier;
+
+	/**
+	 * Threat scores of the moves being ranked, paired with the moves
+	 */
+	private final long[] threats;
+
+	/**
+	 * Constructs an empty SearchBoard over a window of a board
+	 *
+	 * @param boardSize number of rows and columns of the board
+	 * @param length    number of cells in a row needed to win
+	 * @param firstRow  board row of the first row of the window
+	 * @param firstCol  board column of the first column of the window
+	 * @param size      number of rows and columns of the window
+	 * @param stones    number of {@code Shape} objects that will be copied in
+	 */
+	private SearchBoard(int boardSize, int length, int firstRow, int firstCol, int size, int stones) {
+		this.board_Size = boardSize;
+		this.length = length;
+		this.first_Row = firstRow;
+		this.first_Col = firstCol;
+		this.size = size;
+		this.initial_Stones = stones;
+
+		int area = size * size;
+		this.cells = new byte[area];
+		this.counts = new short[ShapeTag.values().length][4 * area];
+		this.stones = new int[area];
+		this.frontier = new Frontier(size, SearchBoard.RADIUS, this.cells);
+		this.threats = new long[area];
+
+		this.weights = new long[length + 1];
+		for (int count = 1; count <= length; count++) {
+			this.weights[count] = Math.min(SearchBoard.MAX_WEIGHT, 8 * this.weights[count - 1] + 1);
+		}
+
+		int span = size - length + 1;
+		this.live = span > 0 ? 2 * size * span + 2 * span * span : 0;
+	}
+
+	/**
+	 * Constructs a copy of a SearchBoard, sharing nothing that changes
+	 *
+	 * @param board SearchBoard to copy
+	 */
+	private SearchBoard(SearchBoard board) {
+		this.board_Size = board.board_Size;
+		this.length = board.length;
+		this.first_Row = board.first_Row;
+		this.first_Col = board.first_Col;
+		this.size = board.size;
+		this.initial_Stones = board.stone_Count;
+		this.cells = board.cells.clone();
+		this.counts = new short[board.counts.length][];
+		for (int ordinal = 0; ordinal < this.counts.length; ordinal++) {
+			this.counts[ordinal] = board.counts[ordinal].clone();
+		}
+		this.weights = board.weights;
+		this.stones = board.stones.clone();
+		this.stone_Count = board.stone_Count;
+		this.score = board.score;
+		this.hash = board.hash;
+		this.live = board.live;
+		this.winner = board.winner;
+		this.frontier = new Frontier(board.frontier, this.cells);
+		this.threats = new long[board.threats.length];
+	}
+
+	/**
+	 * Copies the {@code Shape} objects of a board into a new SearchBoard
+	 *
+	 * @param boardSize number of rows and columns of the board
+	 * @param length    number of cells in a row needed to win
+	 * @param cellsO    cell indices (row * boardSize + column) of every
+	 *                  {@code ShapeTag.SHAPE_O}
+	 * @param cellsX    cell indices of every {@code ShapeTag.SHAPE_X}
+	 * @return SearchBoard over the window around the Shapes, or around the middle
+	 *         of an empty board
+	 */
+	public static SearchBoard of(int boardSize, int length, int[] cellsO, int[] cellsX) {
+		int top = boardSize / 2;
+		int left = boardSize / 2;
+		int bottom = top;
+		int right = left;
+		if (cellsO.length + cellsX.length > 0) {
+			top = left = Integer.MAX_VALUE;
+			bottom = right = Integer.MIN_VALUE;
+			for (int[] cells : new int[][] { cellsO, cellsX }) {
+				for (int cell : cells) {
+					top = Math.min(top, cell / boardSize);
+					bottom = Math.max(bottom, cell / boardSize);
+					left = Math.min(left, cell % boardSize);
+					right = Math.max(right, cell % boardSize);
+				}
+			}
+		}
+
+		// square, like the board, so segments are numbered as in SegmentIndex
+		int margin = Math.max(SearchBoard.MARGIN, length);
+		int side = Math.min(boardSize, Math.max(bottom - top, right - left) + 1 + 2 * margin);
+		int firstRow = Math.max(0, Math.min(boardSize - side, (top + bottom + 1 - side) / 2));
+		int firstCol = Math.max(0, Math.min(boardSize - side, (left + right + 1 - side) / 2));
+
+		SearchBoard board = new SearchBoard(boardSize, length, firstRow, firstCol, side,
+				cellsO.length + cellsX.length);
+		for (int cell : cellsO) {
+			board.place((cell / boardSize - firstRow) * side + cell % boardSize - firstCol, ShapeTag.SHAPE_O);
+		}
+		for (int cell : cellsX) {
+			board.place((cell / boardSize - firstRow) * side + cell % boardSize - firstCol, ShapeTag.SHAPE_X);
+		}
+		return board;
+	}
+
+	/**
+	 * Copies this SearchBoard, as it is now, for another thread to search
+	 *
+	 * @return copy whose moves placed so far cannot be taken back
+	 */
+	public SearchBoard copy() {
+		return new SearchBoard(this);
+	}
+
+	/**
+	 * Getter for the number of rows and columns of the board this is a copy of
+	 *
+	 * @return number of rows and columns of the board
+	 */
+	public int getBoard_Size() {
+		return this.board_Size;
+	}
+
+	/**
+	 * Getter for the number of cells in a row needed to win
+	 *
+	 * @return number of cells in a row needed to win
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Identifies the window, which scores found by searching depend on
+	 *
+	 * @return first row, first column and size of the window packed into one
+	 *         number
+	 */
+	public long getWindow() {
+		return (long) this.first_Row << 42 | (long) this.first_Col << 21 | this.size;
+	}
+
+	/**
+	 * Getter for the number of cells of the window
+	 *
+	 * @return number of cells, which window cell numbers are less than
+	 */
+	public int getArea() {
+		return this.cells.length;
+	}
+
+	/**
+	 * Number of empty cells of the window
+	 *
+	 * @return number of empty cells
+	 */
+	public int getEmpty() {
+		return this.cells.length - this.stone_Count;
+	}
+
+	/**
+	 * Number of moves placed since this SearchBoard was copied from the board
+	 *
+	 * @return number of moves that can be taken back
+	 */
+	public int getPlayed() {
+		return this.stone_Count - this.initial_Stones;
+	}
+
+	/**
+	 * Access to the {@code ShapeTag} that completed a segment
+	 *
+	 * @return winning {@code ShapeTag}, {@code null} while no segment is complete
+	 */
+	public ShapeTag getWinner() {
+		return this.winner == 0 ? null : ShapeTag.fromOrdinal(this.winner - 1);
+	}
+
+	/**
+	 * Determines if the round can no longer be won, because every cell is filled
+	 * or every segment holds both kinds of {@code ShapeTag}
+	 *
+	 * @return true if the round can only end in a draw
+	 */
+	public boolean isDrawn() {
+		return this.winner == 0 && (this.live == 0 || this.stone_Count == this.cells.length);
+	}
+
+	/**
+	 * Access to the {@code ShapeTag} in a cell of the window
+	 *
+	 * @param cell window cell
+	 * @return {@code ShapeTag} in the cell, {@code null} for an empty cell
+	 */
+	public ShapeTag get(int cell) {
+		return this.cells[cell] == 0 ? null : ShapeTag.fromOrdinal(this.cells[cell] - 1);
+	}
+
+	/**
+	 * Determines if a cell of the window is empty
+	 *
+	 * @param cell window cell
+	 * @return true if no {@code ShapeTag} is in the cell
+	 */
+	public boolean isEmpty(int cell) {
+		return this.cells[cell] == 0;
+	}
+
+	/**
+	 * Determines if placing a {@code ShapeTag} into an empty cell would complete
+	 * a segment, from the runs of that tag next to the cell
+	 *
+	 * @param cell window cell
+	 * @param tag  {@code ShapeTag} to place
+	 * @return true if the move would win
+	 */
+	public boolean completes(int cell, ShapeTag tag) {
+		return this.completes(this.cells, cell, (byte) (tag.ordinal() + 1));
+	}
+
+	/**
+	 * Plays the round out with random moves on a scratch copy of the cells,
+	 * leaving this SearchBoard as it is
+	 * <p>
+	 * Only the cells are copied, and a move only looks at the runs through it,
+	 * so a playout costs a few array writes per move. It ends when a segment is
+	 * completed or the window is filled
+	 *
+	 * @param tag     {@code ShapeTag} to move
+	 * @param scratch array of {@code getArea()} entries to play on
+	 * @param empty   array of at least {@code getArea()} entries to list the
+	 *                empty cells in
+	 * @param random  source of the moves
+	 * @return {@code ShapeTag} that won, {@code null} for a draw
+	 */
+	ShapeTag playout(ShapeTag tag, byte[] scratch, int[] empty, ThreadLocalRandom random) {
+		if (this.winner != 0 || this.isDrawn()) {
+			return this.getWinner();
+		}
+
+		System.arraycopy(this.cells, 0, scratch, 0, scratch.length);
+		int count = this.empties(empty);
+		byte value = (byte) (tag.ordinal() + 1);
+		while (count > 0) {
+			int i = random.nextInt(count);
+			int cell = empty[i];
+			empty[i] = empty[--count];
+			scratch[cell] = value;
+			if (this.completes(scratch, cell, value)) {
+				return ShapeTag.fromOrdinal(value - 1);
+			}
+			value = (byte) (3 - value);
+		}
+		return null;
+	}
+
+	/**
+	 * Static evaluation of the position for one side
+	 *
+	 * @param tag {@code ShapeTag} to evaluate for
+	 * @return sum of the values of segments holding only {@code tag} less that
+	 *         of segments holding only the other tag
+	 */
+	public long evaluate(ShapeTag tag) {
+		return tag == ShapeTag.SHAPE_X ? this.score : -this.score;
+	}
+
+	/**
+	 * Zobrist hash of the position
+	 *
+	 * @return 64 bit hash of the occupied cells, as {@code Grid.getHash()}
+	 */
+	public long getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * Converts a cell index of the board into a window cell
+	 *
+	 * @param cell cell index (row * board size + column) of the board
+	 * @return window cell, -1 if the cell is outside the window
+	 */
+	public int toWindowCell(int cell) {
+		int row = cell / this.board_Size - this.first_Row;
+		int col = cell % this.board_Size - this.first_Col;
+		if (row < 0 || col < 0 || row >= this.size || col >= this.size) {
+			return -1;
+		}
+		return row * this.size + col;
+	}
+
+	/**
+	 * Converts a window cell into a cell index of the board
+	 *
+	 * @param cell window cell
+	 * @return cell index (row * board size + column) of the board
+	 */
+	public int toBoardCell(int cell) {
+		return (this.first_Row + cell / this.size) * this.board_Size + this.first_Col + cell % this.size;
+	}
+
+	/**
+	 * Places a {@code ShapeTag} into an empty cell, updating the counts of every
+	 * segment through it
+	 *
+	 * @param cell window cell
+	 * @param tag  {@code ShapeTag} to place
+	 */
+	public void place(int cell, ShapeTag tag) {
+		this.hash ^= Zobrist.key(this.toBoardCell(cell), tag);
+		this.cells[cell] = (byte) (tag.ordinal() + 1);
+		this.stones[this.stone_Count++] = cell;
+		this.frontier.place(cell);
+		this.update(cell, tag.ordinal(), 1);
+	}
+
+	/**
+	 * Takes back the last move placed
+	 */
+	public void undo() {
+		int cell = this.stones[--this.stone_Count];
+		int ordinal = this.cells[cell] - 1;
+		this.hash ^= Zobrist.key(this.toBoardCell(cell), ShapeTag.fromOrdinal(ordinal));
+		this.cells[cell] = 0;
+		this.winner = 0;
+		this.frontier.undo(cell);
+		this.update(cell, ordinal, -1);
+	}
+
+	/**
+	 * Lists the candidate moves, every empty cell on a window of at most
+	 * {@code FULL_AREA} cells and otherwise the empty cells within
+	 * {@code RADIUS} of a {@code Shape}, which a {@code Frontier} keeps up to
+	 * date move by move rather than looking around every Shape again
+	 *
+	 * @param out array of at least {@code getArea()} entries to list the window
+	 *            cells in
+	 * @return number of candidate moves listed
+	 */
+	public int candidates(int[] out) {
+		if (this.cells.length <= SearchBoard.FULL_AREA || this.stone_Count == 0) {
+			if (this.stone_Count == 0 && this.cells.length > SearchBoard.FULL_AREA) {
+				out[0] = this.size / 2 * this.size + this.size / 2;
+				return 1;
+			}
+			return this.empties(out);
+		}
+
+		return this.frontier.list(out);
+	}
+
+	/**
+	 * Cheap measure of how much a move matters, to try the moves most likely to
+	 * be best first: what placing it would add to the evaluation of the side
+	 * moving, plus what the segments it would take from the other side are worth
+	 * to that side
+	 *
+	 * @param cell empty window cell
+	 * @param tag  {@code ShapeTag} to move
+	 * @return threat score, 0 for a move touching no live segment
+	 */
+	public long threat(int cell, ShapeTag tag) {
+		short[] mine = this.counts[tag.ordinal()];
+		short[] theirs = this.counts[1 - tag.ordinal()];
+
+		int row = cell / this.size;
+		int col = cell % this.size;
+		int area = this.size * this.size;
+		int reach = this.length - 1;
+
+		long threat = 0;
+		for (int axis = 0; axis < 4; axis++) {
+			int dRow = SearchBoard.AXIS_ROW[axis];
+			int dCol = SearchBoard.AXIS_COL[axis];
+			for (int k = 0; k <= reach; k++) {
+				int startRow = row - k * dRow;
+				int startCol = col - k * dCol;
+				int endRow = startRow + reach * dRow;
+				int endCol = startCol + reach * dCol;
+				if (startRow < 0 || startCol < 0 || startCol >= this.size || endRow >= this.size || endCol < 0
+						|| endCol >= this.size) {
+					continue;
+				}
+
+				int id = axis * area + startRow * this.size + startCol;
+				if (theirs[id] == 0) {
+					threat += this.weights[mine[id] + 1] - this.weights[mine[id]];
+				} else if (mine[id] == 0) {
+					threat += this.weights[theirs[id]];
+				}
+			}
+		}
+		return threat;
+	}
+
+	/**
+	 * Sorts candidate moves by threat score, highest first
+	 *
+	 * @param moves candidate moves, sorted in place
+	 * @param count number of candidates
+	 * @param tag   {@code ShapeTag} to move
+	 */
+	public void rank(int[] moves, int count, ShapeTag tag) {
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			long threat = this.threat(move, tag);
+
+			// insertion sort, as candidate lists are short
+			int j = i;
+			while (j > 0 && this.threats[j - 1] < threat) {
+				this.threats[j] = this.threats[j - 1];
+				moves[j] = moves[j - 1];
+				j--;
+			}
+			this.threats[j] = threat;
+			moves[j] = move;
+		}
+	}
+
+	/**
+	 * Determines if a tag in a cell is part of a run of {@code length} cells
+	 *
+	 * @param cells cells of the window to look at
+	 * @param cell  window cell
+	 * @param value {@code ShapeTag.ordinal() + 1} of the tag
+	 * @return true if the cell completes a segment
+	 */
+	private boolean completes(byte[] cells, int cell, byte value) {
+		int row = cell / this.size;
+		int col = cell % this.size;
+		for (int axis = 0; axis < 4; axis++) {
+			int dRow = SearchBoard.AXIS_ROW[axis];
+			int dCol = SearchBoard.AXIS_COL[axis];
+			int run = 1 + this.run(cells, row, col, dRow, dCol, value) + this.run(cells, row, col, -dRow, -dCol, value);
+			if (run >= this.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Counts the cells holding a tag next to each other in one direction,
+	 * starting from (but not including) a cell
+	 *
+	 * @param cells cells of the window to look at
+	 * @param row   window row of the starting cell
+	 * @param col   window column of the starting cell
+	 * @param dRow  row step of the direction
+	 * @param dCol  column step of the direction
+	 * @param value {@code ShapeTag.ordinal() + 1} of the tag
+	 * @return number of consecutive matches, at most {@code length - 1}
+	 */
+	private int run(byte[] cells, int row, int col, int dRow, int dCol, byte value) {
+		int count = 0;
+		row += dRow;
+		col += dCol;
+		while (count < this.length - 1 && row >= 0 && col >= 0 && row < this.size && col < this.size
+				&& cells[row * this.size + col] == value) {
+			count++;
+			row += dRow;
+			col += dCol;
+		}
+		return count;
+	}
+
+	/**
+	 * Narrows candidate moves down to the forced ones: a move that wins at once,
+	 * or else the moves taking a cell the other side would win on next
+	 *
+	 * @param moves candidate moves, narrowed in place
+	 * @param count number of candidates
+	 * @param tag   {@code ShapeTag} to move
+	 * @return number of candidates left, all of them if none is forced
+	 */
+	public int narrow(int[] moves, int count, ShapeTag tag) {
+		ShapeTag other = tag == ShapeTag.SHAPE_X ? ShapeTag.SHAPE_O : ShapeTag.SHAPE_X;
+		int blocks = 0;
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if (this.completes(move, tag)) {
+				moves[0] = move;
+				return 1;
+			}
+			if (this.completes(move, other)) {
+				// swap the block to the front, keeping the rest of the list
+				moves[i] = moves[blocks];
+				moves[blocks++] = move;
+			}
+		}
+		return blocks > 0 ? blocks : count;
+	}
+
+	/**
+	 * Lists every empty cell of the window
+	 *
+	 * @param out array of at least {@code getArea()} entries to list the window
+	 *            cells in
+	 * @return number of empty cells listed
+	 */
+	public int empties(int[] out) {
+		int count = 0;
+		for (int cell = 0; cell < this.cells.length; cell++) {
+			if (this.cells[cell] == 0) {
+				out[count++] = cell;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Adds or removes one {@code ShapeTag} in every segment through a cell,
+	 * keeping the evaluation, the number of live segments and the winner up to
+	 * date
+	 *
+	 * @param cell    window cell
+	 * @param ordinal {@code ShapeTag.ordinal()} of the tag
+	 * @param delta   1 to add the tag, -1 to remove it
+	 */
+	private void update(int cell, int ordinal, int delta) {
+		short[] mine = this.counts[ordinal];
+		short[] theirs = this.counts[1 - ordinal];
+		long sign = ordinal == ShapeTag.SHAPE_X.ordinal() ? 1 : -1;
+
+		int row = cell / this.size;
+		int col = cell % this.size;
+		int area = this.size * this.size;
+		int reach = this.length - 1;
+
+		for (int axis = 0; axis < 4; axis++) {
+			int dRow = SearchBoard.AXIS_ROW[axis];
+			int dCol = SearchBoard.AXIS_COL[axis];
+			for (int k = 0; k <= reach; k++) {
+				int startRow = row - k * dRow;
+				int startCol = col - k * dCol;
+				int endRow = startRow + reach * dRow;
+				int endCol = startCol + reach * dCol;
+				if (startRow < 0 || startCol < 0 || startCol >= this.size || endRow >= this.size || endCol < 0
+						|| endCol >= this.size) {
+					continue;
+				}
+
+				int id = axis * area + startRow * this.size + startCol;
+				int before = delta > 0 ? mine[id] : mine[id] - 1;
+				int other = theirs[id];
+				if (other == 0) {
+					this.score += delta * sign * (this.weights[before + 1] - this.weights[before]);
+					if (delta > 0 && before + 1 == this.length) {
+						this.winner = ordinal + 1;
+					}
+				} else if (before == 0) {
+					// the segment held only the other tag, and dies with this one in it
+					this.score += delta * sign * this.weights[other];
+					this.live -= delta;
+				}
+				mine[id] += delta;
+			}
+		}
+	}
+
+}
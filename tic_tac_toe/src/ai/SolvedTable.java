@@ -0,0 +1,210 @@
+package ai;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import shapes.ShapeTag;
+
+/**
+ * Best move and result of every position of a small board played perfectly,
+ * read from a file written by {@code TableGenerator}
+ * <p>
+ * A position is numbered in base 3, one digit per cell, cell 0 lowest: 0 for an
+ * empty cell, 1 for the {@code ShapeTag} to move and 2 for the other one, so
+ * one table serves either side and either side moving first. The file holds a
+ * {@code HEADER} of magic number, board size and winning length, followed by
+ * one byte per position number: the best move in the low four bits and the
+ * result for the side to move above them, 0 for a position no round reaches
+ * <p>
+ * The files are memory mapped rather than read, so a 4 x 4 table of 3^16
+ * positions costs no heap and is paged in by the operating system as it is
+ * looked up
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public final class SolvedTable {
+
+	/**
+	 * Directory the tables are read from, relative to the working directory as
+	 * the saved games are
+	 */
+	public static final String DIRECTORY = "tables";
+
+	/**
+	 * First int of every table file
+	 */
+	static final int MAGIC = 0x54545431;
+
+	/**
+	 * Number of bytes in front of the positions: magic number, board size and
+	 * winning length as ints
+	 */
+	static final int HEADER = 12;
+
+	/**
+	 * Most cells of a board a table is made for, as a move has to fit into four
+	 * bits
+	 */
+	static final int MAX_CELLS = 16;
+
+	/**
+	 * Result of a position the side to move wins
+	 */
+	static final int WIN = 1;
+
+	/**
+	 * Result of a position that is drawn
+	 */
+	static final int DRAW = 2;
+
+	/**
+	 * Result of a position the side to move loses
+	 */
+	static final int LOSS = 3;
+
+	/**
+	 * Bits of an entry holding the best move
+	 */
+	static final int MOVE_MASK = 0x0F;
+
+	/**
+	 * Shift of the result within an entry
+	 */
+	static final int RESULT_SHIFT = 4;
+
+	/**
+	 * Tables loaded, by {@code key}
+	 */
+	private static final Map<Integer, SolvedTable> TABLES = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of rows and columns of the board
+	 */
+	private final int size;
+
+	/**
+	 * Entries of all positions, after the header
+	 */
+	private final MappedByteBuffer entries;
+
+	/**
+	 * Constructs a SolvedTable over a mapped file
+	 *
+	 * @param size    number of rows and columns of the board
+	 * @param entries mapped file
+	 */
+	private SolvedTable(int size, MappedByteBuffer entries) {
+		this.size = size;
+		this.entries = entries;
+	}
+
+	/**
+	 * Maps every table file found in {@code DIRECTORY}; meant to be called once
+	 * at startup, and leaves nothing loaded if there is no such directory
+	 */
+	public static void loadAll() {
+		File[] files = new File(SolvedTable.DIRECTORY).listFiles((dir, name) -> name.endsWith(".bin"));
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				if (channel.size() < SolvedTable.HEADER) {
+					continue;
+				}
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.getInt(0) != SolvedTable.MAGIC) {
+					continue;
+				}
+				int size = buffer.getInt(4);
+				int length = buffer.getInt(8);
+				if (size < 1 || size * size > SolvedTable.MAX_CELLS
+						|| channel.size() != SolvedTable.HEADER + SolvedTable.positions(size)) {
+					continue;
+				}
+				// the mapping stays valid once the channel is closed
+				SolvedTable.TABLES.put(SolvedTable.key(size, length), new SolvedTable(size, buffer));
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Access to the table of a board, if one was loaded
+	 *
+	 * @param size   number of rows and columns of the board
+	 * @param length number of cells in a row needed to win
+	 * @return SolvedTable of the board, {@code null} if there is none
+	 */
+	public static SolvedTable find(int size, int length) {
+		return SolvedTable.TABLES.get(SolvedTable.key(size, length));
+	}
+
+	/**
+	 * Looks the best move of a position up
+	 *
+	 * @param board board of the size of this table, whose window covers it
+	 * @param tag   {@code ShapeTag} to move
+	 * @return window cell of the best move, -1 if the position is not in this
+	 *         table
+	 */
+	public int lookup(SearchBoard board, ShapeTag tag) {
+		if (board.getArea() != this.size * this.size) {
+			return -1;
+		}
+		int position = 0;
+		for (int cell = board.getArea() - 1; cell >= 0; cell--) {
+			ShapeTag held = board.get(cell);
+			position = 3 * position + (held == null ? 0 : held == tag ? 1 : 2);
+		}
+		int entry = this.entries.get(SolvedTable.HEADER + position);
+		return (entry >> SolvedTable.RESULT_SHIFT & 3) == 0 ? -1 : entry & SolvedTable.MOVE_MASK;
+	}
+
+	/**
+	 * Number of positions of a board, 3 to the number of its cells
+	 *
+	 * @param size number of rows and columns of the board
+	 * @return number of position numbers
+	 */
+	static int positions(int size) {
+		int positions = 1;
+		for (int cell = 0; cell < size * size; cell++) {
+			positions *= 3;
+		}
+		return positions;
+	}
+
+	/**
+	 * Name of the file of the table of a board
+	 *
+	 * @param size   number of rows and columns of the board
+	 * @param length number of cells in a row needed to win
+	 * @return file name within {@code DIRECTORY}
+	 */
+	static String fileName(int size, int length) {
+		return size + "x" + size + "-" + length + ".bin";
+	}
+
+	/**
+	 * Key of a board in {@code TABLES}
+	 *
+	 * @param size   number of rows and columns of the board
+	 * @param length number of cells in a row needed to win
+	 * @return key of the board
+	 */
+	private static int key(int size, int length) {
+		return size << 16 | length;
+	}
+
+}
@@ -0,0 +1,54 @@
+package ai;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Engine} answering from a {@code SolvedTable} on boards one was loaded
+ * for, and handing every other position to the {@code Engine} it wraps
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class TableEngine implements Engine {
+
+	/**
+	 * Engine searching the positions not in a table
+	 */
+	private final Engine search;
+
+	/**
+	 * Stats of the last move
+	 */
+	private String stats = "";
+
+	/**
+	 * Constructs a TableEngine
+	 *
+	 * @param search Engine searching the positions not in a table
+	 */
+	TableEngine(Engine search) {
+		this.search = search;
+	}
+
+	@Override
+	public int chooseMove(SearchBoard board, ShapeTag tag) {
+		SolvedTable table = SolvedTable.find(board.getBoard_Size(), board.getLength());
+		int move = table == null ? -1 : table.lookup(board, tag);
+		if (move >= 0) {
+			this.stats = "Solved table";
+			return move;
+		}
+		move = this.search.chooseMove(board, tag);
+		this.stats = this.search.getStats();
+		return move;
+	}
+
+	@Override
+	public String getStats() {
+		return this.stats;
+	}
+
+}
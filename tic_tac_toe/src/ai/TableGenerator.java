@@ -0,0 +1,222 @@
+package ai;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Offline tool solving small boards completely and writing their
+ * {@code SolvedTable} files into {@code SolvedTable.DIRECTORY}
+ * <p>
+ * Run from the directory the game is started in, either without arguments to
+ * write the 3 x 3 table and both 4 x 4 tables, or with a board size and a
+ * winning length to write one. A 3 x 3 table takes a blink and 20 KB; a 4 x 4
+ * table takes a few seconds to a minute and 43 MB, which is why only the 3 x 3
+ * one is kept with the game
+ * <p>
+ * Every position reachable from the empty board, with either side moving
+ * first, is solved once by negamax over the position numbers, which serve as
+ * its memo. A win counts the plies it takes, so the table keeps the quickest
+ * win and the slowest loss, as {@code AlphaBetaEngine} plays them
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public final class TableGenerator {
+
+	/**
+	 * Score of a win on the spot; a win p plies away scores {@code WIN - p}
+	 */
+	private static final int WIN = 100;
+
+	/**
+	 * Row and column steps of the row, column, diagonal and anti-diagonal axes
+	 */
+	private static final int[][] AXES = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+	/**
+	 * Number of rows and columns of the board
+	 */
+	private final int size;
+
+	/**
+	 * Number of cells in a row needed to win
+	 */
+	private final int length;
+
+	/**
+	 * {@code 3^cell} of each cell, the weight of its digit in a position number
+	 */
+	private final int[] powers;
+
+	/**
+	 * Cells of the board being solved, 1 and 2 for the two sides
+	 */
+	private final byte[] cells;
+
+	/**
+	 * Table entry of each position number, 0 while it is not solved
+	 */
+	private final byte[] entries;
+
+	/**
+	 * Number of plies to the end of perfect play of each solved position
+	 */
+	private final byte[] plies;
+
+	/**
+	 * Number of positions solved
+	 */
+	private int solved;
+
+	/**
+	 * Constructs a TableGenerator for a board
+	 *
+	 * @param size   number of rows and columns of the board
+	 * @param length number of cells in a row needed to win
+	 */
+	private TableGenerator(int size, int length) {
+		this.size = size;
+		this.length = length;
+		this.powers = new int[size * size];
+		for (int cell = 0, power = 1; cell < this.powers.length; cell++, power *= 3) {
+			this.powers[cell] = power;
+		}
+		this.cells = new byte[size * size];
+		this.entries = new byte[SolvedTable.positions(size)];
+		this.plies = new byte[this.entries.length];
+	}
+
+	/**
+	 * Writes the tables asked for
+	 *
+	 * @param args nothing for every table, or a board size and a winning length
+	 */
+	public static void main(String[] args) {
+		int[][] boards = args.length >= 2 ? new int[][] { { Integer.parseInt(args[0]), Integer.parseInt(args[1]) } }
+				: new int[][] { { 3, 3 }, { 4, 3 }, { 4, 4 } };
+		for (int[] board : boards) {
+			if (board[0] * board[0] > SolvedTable.MAX_CELLS || board[1] < 1 || board[1] > board[0]) {
+				System.err.println("No table for " + board[0] + " x " + board[0] + " boards with " + board[1]
+						+ " in a row");
+				continue;
+			}
+			try {
+				new TableGenerator(board[0], board[1]).write();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Solves the board and writes its table
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	private void write() throws IOException {
+		long start = System.nanoTime();
+		int score = this.solve(0, 0, (byte) 1, this.cells.length);
+
+		File directory = new File(SolvedTable.DIRECTORY);
+		directory.mkdirs();
+		File file = new File(directory, SolvedTable.fileName(this.size, this.length));
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(SolvedTable.HEADER);
+			header.putInt(SolvedTable.MAGIC).putInt(this.size).putInt(this.length).flip();
+			channel.write(header);
+			ByteBuffer body = ByteBuffer.wrap(this.entries);
+			while (body.hasRemaining()) {
+				channel.write(body);
+			}
+		}
+
+		System.out.printf("%s: %,d positions solved in %.1f s, first player %s%n", file.getPath(), this.solved,
+				(System.nanoTime() - start) / 1e9, score > 0 ? "wins" : score < 0 ? "loses" : "draws");
+	}
+
+	/**
+	 * Solves a position and every position below it
+	 *
+	 * @param mine   position number seen from the side to move
+	 * @param theirs position number seen from the other side
+	 * @param value  value of the side to move in {@code cells}
+	 * @param empty  number of empty cells
+	 * @return score for the side to move
+	 */
+	private int solve(int mine, int theirs, byte value, int empty) {
+		if (this.entries[mine] != 0) {
+			int result = this.entries[mine] >> SolvedTable.RESULT_SHIFT;
+			int score = TableGenerator.WIN - this.plies[mine];
+			return result == SolvedTable.WIN ? score : result == SolvedTable.LOSS ? -score : 0;
+		}
+
+		int best = Integer.MIN_VALUE;
+		int bestMove = -1;
+		for (int cell = 0; cell < this.cells.length; cell++) {
+			if (this.cells[cell] != 0) {
+				continue;
+			}
+			this.cells[cell] = value;
+			int score;
+			if (this.completes(cell, value)) {
+				score = TableGenerator.WIN - 1;
+			} else if (empty == 1) {
+				score = 0;
+			} else {
+				// the other side moves next, and sees this side's digits as 2
+				score = -this.solve(theirs + 2 * this.powers[cell], mine + this.powers[cell], (byte) (3 - value),
+						empty - 1);
+				// one ply further away from the end
+				score += Integer.signum(-score);
+			}
+			this.cells[cell] = 0;
+
+			if (score > best) {
+				best = score;
+				bestMove = cell;
+			}
+		}
+
+		int result = best > 0 ? SolvedTable.WIN : best < 0 ? SolvedTable.LOSS : SolvedTable.DRAW;
+		this.entries[mine] = (byte) (result << SolvedTable.RESULT_SHIFT | bestMove);
+		this.plies[mine] = (byte) (best == 0 ? 0 : TableGenerator.WIN - Math.abs(best));
+		this.solved++;
+		return best;
+	}
+
+	/**
+	 * Determines if a value in a cell is part of a run of {@code length} cells
+	 *
+	 * @param cell  cell just filled
+	 * @param value value of the side that filled it
+	 * @return true if the cell completes a run
+	 */
+	private boolean completes(int cell, byte value) {
+		int row = cell / this.size;
+		int col = cell % this.size;
+		for (int[] axis : TableGenerator.AXES) {
+			int run = 1;
+			for (int sign = -1; sign <= 1; sign += 2) {
+				int r = row + sign * axis[0];
+				int c = col + sign * axis[1];
+				while (r >= 0 && c >= 0 && r < this.size && c < this.size && this.cells[r * this.size + c] == value) {
+					run++;
+					r += sign * axis[0];
+					c += sign * axis[1];
+				}
+			}
+			if (run >= this.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,195 @@
+package ai;
+
+/**
+ * Fixed size table of searched positions, looked up by Zobrist hash, so that a
+ * position reached again through another order of moves reuses what was found
+ * the first time
+ * <p>
+ * Entries are kept in parallel primitive arrays, one slot per hash, and hold
+ * the score, whether it is exact or only a bound, the depth it was searched to,
+ * the window it was searched on and the best move found. A slot is taken over by a position searched at
+ * least as deep as the one in it, or by any position once the one in it was
+ * stored by an earlier search
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class TranspositionTable {
+
+	/**
+	 * Bound type of a score that is exact
+	 */
+	static final byte EXACT = 0;
+
+	/**
+	 * Bound type of a score that is at least the real score, found when no move
+	 * raised alpha
+	 */
+	static final byte UPPER = 1;
+
+	/**
+	 * Bound type of a score that is at most the real score, found when a move
+	 * reached beta
+	 */
+	static final byte LOWER = 2;
+
+	/**
+	 * Full hash of the position in each slot, 0 for an empty slot
+	 */
+	private final long[] keys;
+
+	/**
+	 * {@code SearchBoard.getWindow()} of the search that stored each slot
+	 */
+	private final long[] windows;
+
+	/**
+	 * Score of each slot
+	 */
+	private final long[] scores;
+
+	/**
+	 * Best move of each slot, as a cell index of the board, -1 if there is none
+	 */
+	private final int[] moves;
+
+	/**
+	 * Depth each slot was searched to
+	 */
+	private final byte[] depths;
+
+	/**
+	 * Bound type of each slot
+	 */
+	private final byte[] bounds;
+
+	/**
+	 * Search that stored each slot
+	 */
+	private final byte[] ages;
+
+	/**
+	 * Mask taking a hash to its slot
+	 */
+	private final int mask;
+
+	/**
+	 * Number of the current search, stored with every slot
+	 */
+	private byte age;
+
+	/**
+	 * Constructs an empty TranspositionTable
+	 *
+	 * @param bits log2 of the number of slots
+	 */
+	TranspositionTable(int bits) {
+		int slots = 1 << bits;
+		this.keys = new long[slots];
+		this.windows = new long[slots];
+		this.scores = new long[slots];
+		this.moves = new int[slots];
+		this.depths = new byte[slots];
+		this.bounds = new byte[slots];
+		this.ages = new byte[slots];
+		this.mask = slots - 1;
+	}
+
+	/**
+	 * Starts a new search, whose slots replace any stored before
+	 */
+	void nextSearch() {
+		this.age++;
+	}
+
+	/**
+	 * Looks a position up
+	 *
+	 * @param key Zobrist hash of the position and side to move
+	 * @return slot of the position, -1 if it is not in this table
+	 */
+	int probe(long key) {
+		int slot = (int) key & this.mask;
+		return this.keys[slot] == key && key != 0 ? slot : -1;
+	}
+
+	/**
+	 * Access to the window a slot was searched on; its score and depth only hold
+	 * on that window, as the evaluation and the moves searched depend on it
+	 *
+	 * @param slot slot returned by {@code probe}
+	 * @return {@code SearchBoard.getWindow()} of the search that stored it
+	 */
+	long window(int slot) {
+		return this.windows[slot];
+	}
+
+	/**
+	 * Access to the score of a slot
+	 *
+	 * @param slot slot returned by {@code probe}
+	 * @return score stored
+	 */
+	long score(int slot) {
+		return this.scores[slot];
+	}
+
+	/**
+	 * Access to the best move of a slot
+	 *
+	 * @param slot slot returned by {@code probe}
+	 * @return cell index of the board, -1 if there is none
+	 */
+	int move(int slot) {
+		return this.moves[slot];
+	}
+
+	/**
+	 * Access to the depth of a slot
+	 *
+	 * @param slot slot returned by {@code probe}
+	 * @return depth searched to
+	 */
+	int depth(int slot) {
+		return this.depths[slot];
+	}
+
+	/**
+	 * Access to the bound type of a slot
+	 *
+	 * @param slot slot returned by {@code probe}
+	 * @return {@code EXACT}, {@code UPPER} or {@code LOWER}
+	 */
+	byte bound(int slot) {
+		return this.bounds[slot];
+	}
+
+	/**
+	 * Stores a searched position, unless its slot holds a deeper search made by
+	 * this search
+	 *
+	 * @param key    Zobrist hash of the position and side to move
+	 * @param window {@code SearchBoard.getWindow()} of the search
+	 * @param depth  depth searched to, at most {@code Byte.MAX_VALUE}
+	 * @param score  score found
+	 * @param bound  {@code EXACT}, {@code UPPER} or {@code LOWER}
+	 * @param move   best move as a cell index of the board, -1 if there is none
+	 */
+	void store(long key, long window, int depth, long score, byte bound, int move) {
+		int slot = (int) key & this.mask;
+		if (this.ages[slot] == this.age && this.depths[slot] > depth) {
+			return;
+		}
+		this.keys[slot] = key;
+		this.windows[slot] = window;
+		this.scores[slot] = score;
+		this.moves[slot] = move;
+		this.depths[slot] = (byte) depth;
+		this.bounds[slot] = bound;
+		this.ages[slot] = this.age;
+	}
+
+}
@@ -0,0 +1,195 @@
+package board;
+
+import java.util.Arrays;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Board} that packs each {@code ShapeTag} into its own bit plane of
+ * {@code long} words
+ * <p>
+ * Every row is stored with one extra, always empty, padding column so that
+ * shifting a plane never carries a run from the end of one row into the start
+ * of the next. That lets a win over the whole board be found with a handful of
+ * word wide shift and mask passes per direction
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class BitBoard implements Board {
+
+	/**
+	 * Number of rows and columns
+	 */
+	private final int size;
+
+	/**
+	 * Bits per stored row, one more than {@code size} for the padding column
+	 */
+	private final int stride;
+
+	/**
+	 * Bit plane of cells holding {@code ShapeTag.SHAPE_X}
+	 */
+	private final long[] planeX;
+
+	/**
+	 * Bit plane of cells holding {@code ShapeTag.SHAPE_O}
+	 */
+	private final long[] planeO;
+
+	/**
+	 * Working plane reused by {@code findRun}
+	 */
+	private final long[] scratch;
+
+	/**
+	 * Constructs an empty BitBoard
+	 *
+	 * @param size number of rows and columns
+	 */
+	public BitBoard(int size) {
+		this.size = size;
+		this.stride = size + 1;
+
+		int words = BitBoard.words(size);
+
+		this.planeX = new long[words];
+		this.planeO = new long[words];
+		this.scratch = new long[words];
+	}
+
+	/**
+	 * Number of {@code long} words needed by one plane of a board
+	 *
+	 * @param size number of rows and columns of the board
+	 * @return words per plane
+	 */
+	public static int words(int size) {
+		return (size * (size + 1) + Long.SIZE - 1) / Long.SIZE;
+	}
+
+	@Override
+	public int getSize() {
+		return this.size;
+	}
+
+	@Override
+	public ShapeTag get(int row, int col) {
+		int bit = row * this.stride + col;
+		long mask = 1L << bit;
+		if ((this.planeX[bit >>> 6] & mask) != 0) {
+			return ShapeTag.SHAPE_X;
+		}
+		if ((this.planeO[bit >>> 6] & mask) != 0) {
+			return ShapeTag.SHAPE_O;
+		}
+		return null;
+	}
+
+	@Override
+	public void set(int row, int col, ShapeTag tag) {
+		int bit = row * this.stride + col;
+		long mask = 1L << bit;
+		this.planeX[bit >>> 6] &= ~mask;
+		this.planeO[bit >>> 6] &= ~mask;
+		if (tag != null) {
+			this.plane(tag)[bit >>> 6] |= mask;
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.planeX, 0L);
+		Arrays.fill(this.planeO, 0L);
+	}
+
+	/**
+	 * Searches the whole board one direction at a time
+	 * <p>
+	 * A bit survives {@code m &= m >>> (n * step)} only if the bit {@code n} cells
+	 * further along is also set, so doubling {@code n} each pass leaves exactly the
+	 * starts of runs of {@code length} after about log2({@code length}) passes
+	 */
+	@Override
+	public int findRun(ShapeTag tag, int length) {
+		long[] plane = this.plane(tag);
+
+		// row, column, diagonal and anti-diagonal steps in bits
+		int[] steps = { 1, this.stride, this.stride + 1, this.stride - 1 };
+
+		for (int step : steps) {
+			System.arraycopy(plane, 0, this.scratch, 0, plane.length);
+
+			int covered = 1;
+			while (covered < length) {
+				int n = Math.min(covered, length - covered);
+				BitBoard.shiftAnd(this.scratch, n * step);
+				covered += n;
+			}
+
+			for (int word = 0; word < this.scratch.length; word++) {
+				if (this.scratch[word] != 0) {
+					int bit = word * Long.SIZE + Long.numberOfTrailingZeros(this.scratch[word]);
+					return bit / this.stride * this.size + bit % this.stride;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Skips empty words, so mostly empty boards are visited a word at a time
+	 */
+	@Override
+	public void forEach(CellVisitor visitor) {
+		for (ShapeTag tag : ShapeTag.values()) {
+			long[] plane = this.plane(tag);
+			for (int word = 0; word < plane.length; word++) {
+				long bits = plane[word];
+				while (bits != 0) {
+					int bit = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+					visitor.visit(bit / this.stride, bit % this.stride, tag);
+					bits &= bits - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Intersects a plane, in place, with itself shifted towards bit 0
+	 *
+	 * @param plane words to update
+	 * @param shift number of bits to shift by
+	 */
+	private static void shiftAnd(long[] plane, int shift) {
+		int wordShift = shift >>> 6;
+		int bitShift = shift & 63;
+
+		for (int word = 0; word < plane.length; word++) {
+			int src = word + wordShift;
+
+			long low = src < plane.length ? plane[src] : 0L;
+			long high = src + 1 < plane.length ? plane[src + 1] : 0L;
+
+			long shifted = bitShift == 0 ? low : (low >>> bitShift) | (high << (Long.SIZE - bitShift));
+
+			plane[word] &= shifted;
+		}
+	}
+
+	/**
+	 * Access to the plane for a {@code ShapeTag}
+	 *
+	 * @param tag {@code ShapeTag} of the plane
+	 * @return plane holding {@code tag}
+	 */
+	private long[] plane(ShapeTag tag) {
+		return tag == ShapeTag.SHAPE_X ? this.planeX : this.planeO;
+	}
+
+}
@@ -0,0 +1,145 @@
+package board;
+
+import shapes.ShapeTag;
+
+/**
+ * Storage for which {@code ShapeTag}, if any, occupies each cell of a square
+ * {@code Grid}
+ * <p>
+ * Cells are addressed by (row, column), both starting at 0 in the upper left
+ * 
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public interface Board {
+
+	/**
+	 * Callback for visiting the occupied cells of a Board
+	 */
+	@FunctionalInterface
+	interface CellVisitor {
+
+		/**
+		 * Visits one occupied cell
+		 * 
+		 * @param row row of the cell
+		 * @param col column of the cell
+		 * @param tag {@code ShapeTag} in the cell
+		 */
+		void visit(int row, int col, ShapeTag tag);
+
+	}
+
+	/**
+	 * Getter for the number of rows (and hence columns) of this Board
+	 * 
+	 * @return size of this Board
+	 */
+	int getSize();
+
+	/**
+	 * Access to the {@code ShapeTag} in a cell
+	 * 
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @return {@code ShapeTag} in the cell, {@code null} if the cell is empty
+	 */
+	ShapeTag get(int row, int col);
+
+	/**
+	 * Places a {@code ShapeTag} into a cell, replacing whatever was there
+	 * 
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @param tag {@code ShapeTag} to place, {@code null} to empty the cell
+	 */
+	void set(int row, int col, ShapeTag tag);
+
+	/**
+	 * Empties every cell of this Board
+	 */
+	void clear();
+
+	/**
+	 * Empties the listed cells, leaving the rest of this Board alone
+	 * <p>
+	 * Emptying a Board this way costs the number of listed cells rather than
+	 * the area of the Board
+	 * 
+	 * @param cells cell indices (row * size + column) to empty
+	 * @param count number of entries of {@code cells} to use
+	 */
+	default void clear(int[] cells, int count) {
+		int size = this.getSize();
+		for (int i = 0; i < count; i++) {
+			this.set(cells[i] / size, cells[i] % size, null);
+		}
+	}
+
+	/**
+	 * Searches the whole of this Board for a row, column or diagonal of
+	 * {@code length} cells all holding {@code tag}
+	 * 
+	 * @param tag    {@code ShapeTag} to search for
+	 * @param length number of cells in a row needed
+	 * @return cell index (row * size + column) of the first cell of a run, -1 if
+	 *         there is none
+	 */
+	int findRun(ShapeTag tag, int length);
+
+	/**
+	 * Visits every occupied cell of this Board, in no particular order
+	 * 
+	 * @param visitor callback for each occupied cell
+	 */
+	default void forEach(CellVisitor visitor) {
+		for (int row = 0; row < this.getSize(); row++) {
+			for (int col = 0; col < this.getSize(); col++) {
+				ShapeTag tag = this.get(row, col);
+				if (tag != null) {
+					visitor.visit(row, col, tag);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines if (row, col) lies on this Board
+	 * 
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @return true if the cell is on this Board
+	 */
+	default boolean contains(int row, int col) {
+		return row >= 0 && col >= 0 && row < this.getSize() && col < this.getSize();
+	}
+
+	/**
+	 * Counts the cells holding {@code tag} lying next to each other in one
+	 * direction, starting from (but not including) the given cell
+	 * 
+	 * @param row   row of the starting cell
+	 * @param col   column of the starting cell
+	 * @param dRow  row step of the direction
+	 * @param dCol  column step of the direction
+	 * @param tag   {@code ShapeTag} to match
+	 * @param limit number of matches after which counting stops
+	 * @return number of consecutive matches in the given direction, at most
+	 *         {@code limit}
+	 */
+	default int countRun(int row, int col, int dRow, int dCol, ShapeTag tag, int limit) {
+		int count = 0;
+		row += dRow;
+		col += dCol;
+		while (count < limit && this.contains(row, col) && this.get(row, col) == tag) {
+			count++;
+			row += dRow;
+			col += dCol;
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,90 @@
+package board;
+
+/**
+ * Enumeration of the {@code Board} implementations a {@code Grid} can be backed
+ * by
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public enum BoardType {
+
+	DENSE, BITBOARD, SPARSE, CHUNKED;
+
+	/**
+	 * Approximate bytes taken by the header of an array
+	 */
+	static final long ARRAY_HEADER = 16;
+
+	/**
+	 * Number of moves a game is budgeted for on boards whose memory grows with
+	 * the moves played, far more than a round played by hand reaches
+	 */
+	static final long GAME_MOVES = 4096;
+
+	/**
+	 * Determines if boards of this type have no fixed size, in which case
+	 * {@code Constants.GAME_SIZE} is only the number of cells shown at once
+	 *
+	 * @return true for {@code CHUNKED}
+	 */
+	public boolean isUnbounded() {
+		return this == BoardType.CHUNKED;
+	}
+
+	/**
+	 * Estimates the heap used by a {@code Board} of this type, for a board that
+	 * is completely filled
+	 * <p>
+	 * {@code SPARSE} boards only grow with the moves played, so their estimate
+	 * covers {@code GAME_MOVES} of them, or every cell of a board with fewer.
+	 * {@code CHUNKED} boards cannot fill, so their estimate covers the tile
+	 * directory and a game's worth of tiles
+	 *
+	 * @param size number of rows and columns
+	 * @return estimated footprint in bytes
+	 */
+	public long estimateBytes(int size) {
+		long cells = (long) size * size;
+		switch (this) {
+		case BITBOARD:
+			return 3 * (BoardType.ARRAY_HEADER + 8L * BitBoard.words(size));
+		case SPARSE:
+			// rehashed once more than half full, so ends up with 2 to 4 slots per move
+			long moves = Math.min(cells, BoardType.GAME_MOVES);
+			long slots = Math.max(SparseBoard.INITIAL_CAPACITY,
+					Long.highestOneBit(Math.max(1, 2 * moves - 1)) << 1);
+			return 2 * BoardType.ARRAY_HEADER + 5 * slots;
+		case CHUNKED:
+			long directory = (long) ChunkedBoard.EXTENT / ChunkedBoard.TILE * ChunkedBoard.EXTENT / ChunkedBoard.TILE;
+			return BoardType.ARRAY_HEADER + 4 * directory
+					+ 16 * (BoardType.ARRAY_HEADER + ChunkedBoard.TILE * ChunkedBoard.TILE);
+		default:
+			return BoardType.ARRAY_HEADER + 4 * cells;
+		}
+	}
+
+	/**
+	 * Constructs an empty {@code Board} of this type
+	 *
+	 * @param size number of rows and columns, ignored by {@code CHUNKED} boards
+	 *             which always span {@code ChunkedBoard.EXTENT}
+	 * @return new {@code Board}
+	 */
+	public Board create(int size) {
+		switch (this) {
+		case BITBOARD:
+			return new BitBoard(size);
+		case SPARSE:
+			return new SparseBoard(size);
+		case CHUNKED:
+			return new ChunkedBoard();
+		default:
+			return new DenseBoard(size);
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+package board;
+
+import java.util.Arrays;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Board} for unbounded play, stored as fixed size square tiles that are
+ * only allocated once a {@code Shape} is placed inside them
+ * <p>
+ * The board spans {@code EXTENT} cells a side, far more than any game will
+ * reach, so packed cell indices (row * {@code EXTENT} + column) still fit in an
+ * {@code int}. A cell (row, col) lives in tile (row / {@code TILE}, col /
+ * {@code TILE}) at tile-local coordinates (row % {@code TILE}, col %
+ * {@code TILE})
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class ChunkedBoard implements Board {
+
+	/**
+	 * log2 of {@code TILE}
+	 */
+	private static final int TILE_BITS = 6;
+
+	/**
+	 * Number of rows and columns of a tile
+	 */
+	public static final int TILE = 1 << ChunkedBoard.TILE_BITS;
+
+	/**
+	 * Number of tiles along each side of the board
+	 */
+	private static final int TILES = 256;
+
+	/**
+	 * Number of rows and columns of the board
+	 */
+	public static final int EXTENT = ChunkedBoard.TILES * ChunkedBoard.TILE;
+
+	/**
+	 * Tiles by tile index (tileRow * {@code TILES} + tileCol), {@code null} until
+	 * something is placed in them; each holds {@code ShapeTag.ordinal() + 1} per
+	 * cell, 0 where empty
+	 */
+	private final byte[][] tiles;
+
+	/**
+	 * Tile indices of every allocated tile, in allocation order
+	 */
+	private int[] allocated;
+
+	/**
+	 * Number of allocated tiles
+	 */
+	private int tileCount;
+
+	/**
+	 * Constructs an empty ChunkedBoard, with no tiles allocated
+	 */
+	public ChunkedBoard() {
+		this.tiles = new byte[ChunkedBoard.TILES * ChunkedBoard.TILES][];
+		this.allocated = new int[16];
+	}
+
+	@Override
+	public int getSize() {
+		return ChunkedBoard.EXTENT;
+	}
+
+	@Override
+	public ShapeTag get(int row, int col) {
+		byte[] tile = this.tiles[ChunkedBoard.tileIndex(row, col)];
+		if (tile == null) {
+			return null;
+		}
+		byte value = tile[ChunkedBoard.localIndex(row, col)];
+		return value == 0 ? null : ShapeTag.fromOrdinal(value - 1);
+	}
+
+	@Override
+	public void set(int row, int col, ShapeTag tag) {
+		int index = ChunkedBoard.tileIndex(row, col);
+		byte[] tile = this.tiles[index];
+
+		if (tile == null) {
+			if (tag == null) {
+				return;
+			}
+			tile = this.allocate(index);
+		}
+
+		tile[ChunkedBoard.localIndex(row, col)] = tag == null ? 0 : (byte) (tag.ordinal() + 1);
+	}
+
+	/**
+	 * Empties every allocated tile but keeps it, so that the next round on the
+	 * same area of the board does not allocate them again
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < this.tileCount; i++) {
+			Arrays.fill(this.tiles[this.allocated[i]], (byte) 0);
+		}
+	}
+
+	@Override
+	public int findRun(ShapeTag tag, int length) {
+		byte value = (byte) (tag.ordinal() + 1);
+		for (int i = 0; i < this.tileCount; i++) {
+			int index = this.allocated[i];
+			byte[] tile = this.tiles[index];
+			for (int local = 0; local < tile.length; local++) {
+				if (tile[local] != value) {
+					continue;
+				}
+				int row = ChunkedBoard.row(index, local);
+				int col = ChunkedBoard.col(index, local);
+				if (this.countRun(row, col, 0, 1, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, 0, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, 1, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, -1, tag, length - 1) == length - 1) {
+					return row * ChunkedBoard.EXTENT + col;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Only visits allocated tiles
+	 */
+	@Override
+	public void forEach(CellVisitor visitor) {
+		for (int i = 0; i < this.tileCount; i++) {
+			int index = this.allocated[i];
+			byte[] tile = this.tiles[index];
+			for (int local = 0; local < tile.length; local++) {
+				if (tile[local] != 0) {
+					visitor.visit(ChunkedBoard.row(index, local), ChunkedBoard.col(index, local),
+							ShapeTag.fromOrdinal(tile[local] - 1));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Getter for the number of tiles allocated so far
+	 *
+	 * @return number of allocated tiles
+	 */
+	public int getTileCount() {
+		return this.tileCount;
+	}
+
+	/**
+	 * Allocates an empty tile
+	 *
+	 * @param index tile index
+	 * @return the new tile
+	 */
+	private byte[] allocate(int index) {
+		byte[] tile = new byte[ChunkedBoard.TILE * ChunkedBoard.TILE];
+		this.tiles[index] = tile;
+
+		if (this.tileCount == this.allocated.length) {
+			this.allocated = Arrays.copyOf(this.allocated, 2 * this.allocated.length);
+		}
+		this.allocated[this.tileCount++] = index;
+
+		return tile;
+	}
+
+	/**
+	 * Tile index of the tile holding a cell
+	 *
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @return tile index
+	 */
+	private static int tileIndex(int row, int col) {
+		return (row >>> ChunkedBoard.TILE_BITS) * ChunkedBoard.TILES + (col >>> ChunkedBoard.TILE_BITS);
+	}
+
+	/**
+	 * Index of a cell within its tile
+	 *
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @return tile-local index
+	 */
+	private static int localIndex(int row, int col) {
+		return ((row & (ChunkedBoard.TILE - 1)) << ChunkedBoard.TILE_BITS) | (col & (ChunkedBoard.TILE - 1));
+	}
+
+	/**
+	 * Board row of a tile-local cell
+	 *
+	 * @param index tile index
+	 * @param local tile-local index
+	 * @return board row
+	 */
+	private static int row(int index, int local) {
+		return (index / ChunkedBoard.TILES << ChunkedBoard.TILE_BITS) + (local >>> ChunkedBoard.TILE_BITS);
+	}
+
+	/**
+	 * Board column of a tile-local cell
+	 *
+	 * @param index tile index
+	 * @param local tile-local index
+	 * @return board column
+	 */
+	private static int col(int index, int local) {
+		return (index % ChunkedBoard.TILES << ChunkedBoard.TILE_BITS) + (local & (ChunkedBoard.TILE - 1));
+	}
+
+}
@@ -0,0 +1,78 @@
+package board;
+
+import java.util.Arrays;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Board} that keeps one reference per cell in a flat, row major array
+ * <p>
+ * Fastest lookups, but memory grows with the area of the board
+ * 
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class DenseBoard implements Board {
+
+	/**
+	 * Number of rows and columns
+	 */
+	private final int size;
+
+	/**
+	 * Row major cells, {@code null} where empty
+	 */
+	private final ShapeTag[] cells;
+
+	/**
+	 * Constructs an empty DenseBoard
+	 * 
+	 * @param size number of rows and columns
+	 */
+	public DenseBoard(int size) {
+		this.size = size;
+		this.cells = new ShapeTag[size * size];
+	}
+
+	@Override
+	public int getSize() {
+		return this.size;
+	}
+
+	@Override
+	public ShapeTag get(int row, int col) {
+		return this.cells[row * this.size + col];
+	}
+
+	@Override
+	public void set(int row, int col, ShapeTag tag) {
+		this.cells[row * this.size + col] = tag;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.cells, null);
+	}
+
+	@Override
+	public int findRun(ShapeTag tag, int length) {
+		for (int row = 0; row < this.size; row++) {
+			for (int col = 0; col < this.size; col++) {
+				if (this.get(row, col) != tag) {
+					continue;
+				}
+				if (this.countRun(row, col, 0, 1, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, 0, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, 1, tag, length - 1) == length - 1
+						|| this.countRun(row, col, 1, -1, tag, length - 1) == length - 1) {
+					return row * this.size + col;
+				}
+			}
+		}
+		return -1;
+	}
+
+}
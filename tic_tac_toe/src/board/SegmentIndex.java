@@ -0,0 +1,235 @@
+package board;
+
+import java.util.Arrays;
+
+import shapes.ShapeTag;
+
+/**
+ * Index of every segment of {@code length} cells in a row, column or diagonal
+ * of a square board, keeping track of how many of each {@code ShapeTag} every
+ * segment holds
+ * <p>
+ * A segment holding both tags can never be won, so once every segment is in
+ * that state the round is a draw no matter how many cells are still empty
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class SegmentIndex {
+
+	/**
+	 * Marker for a segment holding both tags
+	 */
+	private static final short DEAD = Short.MIN_VALUE;
+
+	/**
+	 * Row steps of the row, column, diagonal and anti-diagonal axes
+	 */
+	private static final int[] AXIS_ROW = { 0, 1, 1, 1 };
+
+	/**
+	 * Column steps of the four axes, paired with {@code AXIS_ROW}
+	 */
+	private static final int[] AXIS_COL = { 1, 0, 1, -1 };
+
+	/**
+	 * Number of rows and columns of the board
+	 */
+	private final int size;
+
+	/**
+	 * Number of cells in a segment
+	 */
+	private final int length;
+
+	/**
+	 * Per segment count: positive for that many {@code ShapeTag.SHAPE_X},
+	 * negative for that many {@code ShapeTag.SHAPE_O}, {@code DEAD} for both
+	 * <p>
+	 * Segment ids are axis * size * size + startRow * size + startCol
+	 */
+	private final short[] counts;
+
+	/**
+	 * Number of segments that exist on the board
+	 */
+	private final int total;
+
+	/**
+	 * Number of segments that can still be won
+	 */
+	private int live;
+
+	/**
+	 * Constructs an empty SegmentIndex
+	 *
+	 * @param size   number of rows and columns of the board
+	 * @param length number of cells in a row needed to win
+	 */
+	public SegmentIndex(int size, int length) {
+		this.size = size;
+		this.length = length;
+		this.counts = new short[4 * size * size];
+
+		int span = size - length + 1;
+		this.total = 2 * size * span + 2 * span * span;
+		this.live = this.total;
+	}
+
+	/**
+	 * Estimates the heap used by a SegmentIndex
+	 *
+	 * @param size number of rows and columns of the board
+	 * @return estimated footprint in bytes
+	 */
+	public static long estimateBytes(int size) {
+		return BoardType.ARRAY_HEADER + 2L * 4 * size * size;
+	}
+
+	/**
+	 * Records a {@code ShapeTag} placed into an empty cell
+	 * <p>
+	 * Touches at most 4 * {@code length} segments
+	 *
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @param tag {@code ShapeTag} placed
+	 * @return id of a segment this placement completed, -1 if it completed none
+	 */
+	public int place(int row, int col, ShapeTag tag) {
+		int step = tag == ShapeTag.SHAPE_X ? 1 : -1;
+		int won = -1;
+
+		for (int axis = 0; axis < SegmentIndex.AXIS_ROW.length; axis++) {
+			int dRow = SegmentIndex.AXIS_ROW[axis];
+			int dCol = SegmentIndex.AXIS_COL[axis];
+
+			for (int offset = 0; offset < this.length; offset++) {
+				int startRow = row - offset * dRow;
+				int startCol = col - offset * dCol;
+				int endRow = startRow + (this.length - 1) * dRow;
+				int endCol = startCol + (this.length - 1) * dCol;
+
+				if (!this.contains(startRow, startCol) || !this.contains(endRow, endCol)) {
+					continue;
+				}
+
+				int id = (axis * this.size + startRow) * this.size + startCol;
+				short count = this.counts[id];
+
+				if (count == SegmentIndex.DEAD) {
+					continue;
+				}
+
+				if (count == 0 || (count > 0) == (step > 0)) {
+					count += step;
+					this.counts[id] = count;
+					if (Math.abs(count) == this.length) {
+						won = id;
+					}
+				} else {
+					this.counts[id] = SegmentIndex.DEAD;
+					this.live--;
+				}
+			}
+		}
+
+		return won;
+	}
+
+	/**
+	 * Determines if no segment on the board can be won anymore
+	 *
+	 * @return true if every segment holds both tags
+	 */
+	public boolean isDead() {
+		return this.live == 0;
+	}
+
+	/**
+	 * Getter for the number of segments that can still be won
+	 *
+	 * @return number of live segments
+	 */
+	public int getLive() {
+		return this.live;
+	}
+
+	/**
+	 * Cell index (row * size + column) of the first cell of a segment
+	 *
+	 * @param id segment id
+	 * @return cell index of the first cell
+	 */
+	public int segmentStart(int id) {
+		return id % (this.size * this.size);
+	}
+
+	/**
+	 * Cell index (row * size + column) of the last cell of a segment
+	 *
+	 * @param id segment id
+	 * @return cell index of the last cell
+	 */
+	public int segmentEnd(int id) {
+		int axis = id / (this.size * this.size);
+		int start = this.segmentStart(id);
+		int row = start / this.size + (this.length - 1) * SegmentIndex.AXIS_ROW[axis];
+		int col = start % this.size + (this.length - 1) * SegmentIndex.AXIS_COL[axis];
+		return row * this.size + col;
+	}
+
+	/**
+	 * Resets every segment to empty
+	 */
+	public void clear() {
+		Arrays.fill(this.counts, (short) 0);
+		this.live = this.total;
+	}
+
+	/**
+	 * Forgets every placement, given the cells of every placement so far
+	 * <p>
+	 * Only the segments through those cells can hold anything, so only they are
+	 * reset, at most 4 * {@code length} per cell
+	 *
+	 * @param cells cell indices (row * size + column) of every placement
+	 * @param count number of entries of {@code cells} to use
+	 */
+	public void clear(int[] cells, int count) {
+		for (int i = 0; i < count; i++) {
+			int row = cells[i] / this.size;
+			int col = cells[i] % this.size;
+
+			for (int axis = 0; axis < SegmentIndex.AXIS_ROW.length; axis++) {
+				int dRow = SegmentIndex.AXIS_ROW[axis];
+				int dCol = SegmentIndex.AXIS_COL[axis];
+
+				for (int offset = 0; offset < this.length; offset++) {
+					int startRow = row - offset * dRow;
+					int startCol = col - offset * dCol;
+
+					if (this.contains(startRow, startCol)) {
+						this.counts[(axis * this.size + startRow) * this.size + startCol] = 0;
+					}
+				}
+			}
+		}
+		this.live = this.total;
+	}
+
+	/**
+	 * Determines if (row, col) lies on the board
+	 *
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @return true if the cell is on the board
+	 */
+	private boolean contains(int row, int col) {
+		return row >= 0 && col >= 0 && row < this.size && col < this.size;
+	}
+
+}
@@ -0,0 +1,232 @@
+package board;
+
+import java.util.Arrays;
+
+import shapes.ShapeTag;
+
+/**
+ * {@code Board} that only stores occupied cells, in an open addressing hash map
+ * from packed cell index (row * size + column) to tag
+ * <p>
+ * Keys and values live in parallel primitive arrays, so memory grows with the
+ * number of moves played instead of with the area of the board. A new game
+ * gets one from {@code LoadScreen} on boards of about 70 x 70 and more, where
+ * that is less than a bitboard and segment index of every cell
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class SparseBoard implements Board {
+
+	/**
+	 * Key marking an unused slot
+	 */
+	private static final int EMPTY = -1;
+
+	/**
+	 * Number of slots a new SparseBoard starts with, a power of two
+	 */
+	static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Number of rows and columns
+	 */
+	private final int size;
+
+	/**
+	 * Packed cell index per slot, {@code EMPTY} where unused
+	 */
+	private int[] keys;
+
+	/**
+	 * {@code ShapeTag.ordinal()} of the cell in the matching slot of
+	 * {@code keys}
+	 */
+	private byte[] values;
+
+	/**
+	 * Number of occupied cells
+	 */
+	private int count;
+
+	/**
+	 * Constructs an empty SparseBoard
+	 *
+	 * @param size number of rows and columns
+	 */
+	public SparseBoard(int size) {
+		this.size = size;
+		this.allocate(SparseBoard.INITIAL_CAPACITY);
+	}
+
+	@Override
+	public int getSize() {
+		return this.size;
+	}
+
+	@Override
+	public ShapeTag get(int row, int col) {
+		int slot = this.find(row * this.size + col);
+		return this.keys[slot] == SparseBoard.EMPTY ? null : ShapeTag.fromOrdinal(this.values[slot]);
+	}
+
+	@Override
+	public void set(int row, int col, ShapeTag tag) {
+		int key = row * this.size + col;
+		int slot = this.find(key);
+
+		if (tag == null) {
+			if (this.keys[slot] != SparseBoard.EMPTY) {
+				this.remove(slot);
+			}
+			return;
+		}
+
+		if (this.keys[slot] == SparseBoard.EMPTY) {
+			this.keys[slot] = key;
+			this.count++;
+		}
+		this.values[slot] = (byte) tag.ordinal();
+
+		if (2 * this.count > this.keys.length) {
+			this.rehash(2 * this.keys.length);
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.keys, SparseBoard.EMPTY);
+		this.count = 0;
+	}
+
+	/**
+	 * The table already grows with the number of occupied cells, so emptying all
+	 * of it is cheaper than removing cells one by one
+	 */
+	@Override
+	public void clear(int[] cells, int count) {
+		this.clear();
+	}
+
+	/**
+	 * Only starts a run from occupied cells, so the cost depends on the number of
+	 * moves played rather than the area of the board
+	 */
+	@Override
+	public int findRun(ShapeTag tag, int length) {
+		byte value = (byte) tag.ordinal();
+		for (int slot = 0; slot < this.keys.length; slot++) {
+			int key = this.keys[slot];
+			if (key == SparseBoard.EMPTY || this.values[slot] != value) {
+				continue;
+			}
+			int row = key / this.size;
+			int col = key % this.size;
+			if (this.countRun(row, col, 0, 1, tag, length - 1) == length - 1
+					|| this.countRun(row, col, 1, 0, tag, length - 1) == length - 1
+					|| this.countRun(row, col, 1, 1, tag, length - 1) == length - 1
+					|| this.countRun(row, col, 1, -1, tag, length - 1) == length - 1) {
+				return key;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void forEach(CellVisitor visitor) {
+		for (int slot = 0; slot < this.keys.length; slot++) {
+			int key = this.keys[slot];
+			if (key != SparseBoard.EMPTY) {
+				visitor.visit(key / this.size, key % this.size, ShapeTag.fromOrdinal(this.values[slot]));
+			}
+		}
+	}
+
+	/**
+	 * Finds the slot holding {@code key}, or the empty slot it would go into
+	 *
+	 * @param key packed cell index
+	 * @return slot index
+	 */
+	private int find(int key) {
+		int mask = this.keys.length - 1;
+		int slot = SparseBoard.hash(key) & mask;
+		while (this.keys[slot] != SparseBoard.EMPTY && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Empties a slot, shifting back any later entries of the same probe chain so
+	 * that lookups never stop early at the hole
+	 *
+	 * @param slot slot to empty
+	 */
+	private void remove(int slot) {
+		int mask = this.keys.length - 1;
+		int hole = slot;
+		int next = (hole + 1) & mask;
+
+		while (this.keys[next] != SparseBoard.EMPTY) {
+			int home = SparseBoard.hash(this.keys[next]) & mask;
+			// move the entry back if its home does not lie cyclically in (hole, next]
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				this.keys[hole] = this.keys[next];
+				this.values[hole] = this.values[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+
+		this.keys[hole] = SparseBoard.EMPTY;
+		this.count--;
+	}
+
+	/**
+	 * Moves every entry into a table of a new capacity
+	 *
+	 * @param capacity new number of slots, a power of two
+	 */
+	private void rehash(int capacity) {
+		int[] oldKeys = this.keys;
+		byte[] oldValues = this.values;
+
+		this.allocate(capacity);
+
+		for (int slot = 0; slot < oldKeys.length; slot++) {
+			if (oldKeys[slot] != SparseBoard.EMPTY) {
+				int target = this.find(oldKeys[slot]);
+				this.keys[target] = oldKeys[slot];
+				this.values[target] = oldValues[slot];
+			}
+		}
+	}
+
+	/**
+	 * Replaces the table with an empty one
+	 *
+	 * @param capacity number of slots, a power of two
+	 */
+	private void allocate(int capacity) {
+		this.keys = new int[capacity];
+		this.values = new byte[capacity];
+		Arrays.fill(this.keys, SparseBoard.EMPTY);
+	}
+
+	/**
+	 * Spreads packed cell indices, which are sequential along a row, over the
+	 * table
+	 *
+	 * @param key packed cell index
+	 * @return mixed hash
+	 */
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
@@ -0,0 +1,76 @@
+package board;
+
+import shapes.ShapeTag;
+
+/**
+ * Zobrist keys of the cells of a board: the hash of a position is the XOR of
+ * the keys of its occupied cells, so placing or removing a {@code ShapeTag}
+ * changes it with a single XOR
+ * <p>
+ * Keys are derived from the cell index and tag with a 64 bit mixing function
+ * rather than drawn up front and stored, since an unbounded board has far too
+ * many cells for a table. They are the same on every kind of {@code Board} and
+ * in every run, so a hash identifies a position wherever it comes from
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public final class Zobrist {
+
+	/**
+	 * Seed mixed into every key
+	 */
+	private static final long SEED = 0x6A09E667F3BCC908L;
+
+	/**
+	 * Key XORed into the hash of a position in which {@code ShapeTag.SHAPE_X} is
+	 * to move, as the same cells can be reached with either side to move
+	 */
+	private static final long X_TO_MOVE = Zobrist.mix(Zobrist.SEED - 1);
+
+	/**
+	 * Not instantiable
+	 */
+	private Zobrist() {
+	}
+
+	/**
+	 * Access to the key of a {@code ShapeTag} in a cell
+	 *
+	 * @param cell cell index (row * board size + column)
+	 * @param tag  {@code ShapeTag} in the cell
+	 * @return 64 bit key
+	 */
+	public static long key(int cell, ShapeTag tag) {
+		return Zobrist.mix(Zobrist.SEED + 2L * cell + tag.ordinal());
+	}
+
+	/**
+	 * Access to the key of the side to move
+	 *
+	 * @param tag {@code ShapeTag} to move
+	 * @return key to XOR into the hash of a position, 0 for
+	 *         {@code ShapeTag.SHAPE_O}
+	 */
+	public static long toMove(ShapeTag tag) {
+		return tag == ShapeTag.SHAPE_X ? Zobrist.X_TO_MOVE : 0;
+	}
+
+	/**
+	 * Scrambles a number into one whose bits all depend on every bit of it, the
+	 * finalizer of the SplitMix64 generator
+	 *
+	 * @param z number to scramble
+	 * @return scrambled number
+	 */
+	private static long mix(long z) {
+		z *= 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,374 @@
+package components;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import board.Board;
+import shapes.ShapeTag;
+
+/**
+ * Image of the area of a {@code Grid} whose pixels are written directly, for
+ * boxes too small for {@code Shape} glyphs
+ * <p>
+ * Each box is a square of one color, so drawing one with a {@code Graphics}
+ * call costs far more than setting its few pixels. The background, the lines
+ * between boxes and the boxes are written straight into the {@code int[]}
+ * behind the image, and the image reaches the screen with a single copy
+ * <p>
+ * The pixels are kept between draws: a placed {@code Shape} only rewrites the
+ * pixels of its box, panning moves the pixels still in view and only renders
+ * the strips that came into view, and the whole image is only rendered again
+ * when the width of a box changes or the board was replaced
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class BoardRaster {
+
+	/**
+	 * Smallest width of a box at which the lines between boxes are drawn
+	 */
+	static final int LINE_BOX_WIDTH = 4;
+
+	/**
+	 * RGB value of the background
+	 */
+	private static final int BACKGROUND = 0x000000;
+
+	/**
+	 * Color of a box holding a {@code Shape}
+	 *
+	 * @author Samuel Brenner
+	 *
+	 */
+	@FunctionalInterface
+	interface Palette {
+
+		/**
+		 * Finds the color of a box
+		 *
+		 * @param row board row of the box
+		 * @param col board column of the box
+		 * @param tag {@code ShapeTag} in the box
+		 * @return RGB value of the box
+		 */
+		int rgb(int row, int col, ShapeTag tag);
+	}
+
+	/**
+	 * Image of the area, {@code Viewport.AREA} pixels a side
+	 */
+	private final BufferedImage image;
+
+	/**
+	 * Pixels of {@code image}, row by row
+	 */
+	private final int[] pixels;
+
+	/**
+	 * Colors of the boxes
+	 */
+	private final Palette palette;
+
+	/**
+	 * RGB value of the lines between boxes
+	 */
+	private final int line;
+
+	/**
+	 * One row of pixels lying on a line between rows of boxes, for the current
+	 * box width and {@code origin_X}
+	 */
+	private final int[] line_Row;
+
+	/**
+	 * One row of pixels lying between lines, for the current box width and
+	 * {@code origin_X}
+	 */
+	private final int[] box_Row;
+
+	/**
+	 * Number of rows and columns of the board rendered
+	 */
+	private int size;
+
+	/**
+	 * Width of a box the pixels were rendered for, 0 if they are out of date
+	 */
+	private int box_Width;
+
+	/**
+	 * Board pixel rendered at the left edge of the image
+	 */
+	private int origin_X;
+
+	/**
+	 * Board pixel rendered at the top edge of the image
+	 */
+	private int origin_Y;
+
+	/**
+	 * Constructs a BoardRaster, rendered on its first draw
+	 *
+	 * @param palette colors of the boxes
+	 * @param line    RGB value of the lines between boxes
+	 */
+	BoardRaster(Palette palette, int line) {
+		this.image = new BufferedImage(Viewport.AREA, Viewport.AREA, BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+		this.palette = palette;
+		this.line = line;
+		this.line_Row = new int[Viewport.AREA];
+		this.box_Row = new int[Viewport.AREA];
+	}
+
+	/**
+	 * Marks every pixel as out of date, as when the board was cleared or replaced
+	 */
+	void invalidate() {
+		this.box_Width = 0;
+	}
+
+	/**
+	 * Rewrites the pixels of a box whose {@code Shape} or color changed
+	 * <p>
+	 * Pixels rendered for another box width are only marked as out of date, as
+	 * the box is not drawn from them while that width is shown
+	 *
+	 * @param viewport view of the board
+	 * @param row      board row of the box
+	 * @param col      board column of the box
+	 * @param tag      {@code ShapeTag} in the box, {@code null} once it was emptied
+	 */
+	void update(Viewport viewport, int row, int col, ShapeTag tag) {
+		if (this.box_Width == viewport.getBox_Width()) {
+			this.fillBox(row, col, tag, 0, 0, Viewport.AREA, Viewport.AREA);
+		} else {
+			this.invalidate();
+		}
+	}
+
+	/**
+	 * Brings the pixels up to date with the view and copies the part inside the
+	 * clip of g to the screen
+	 *
+	 * @param g        Graphics component, clipped to the area
+	 * @param x        x coordinate of the upper left corner of the area
+	 * @param y        y coordinate of the upper left corner of the area
+	 * @param viewport view of the board
+	 * @param board    board of the {@code Grid}
+	 * @param moves    cell indices of every {@code Shape} on the board
+	 * @param filled   number of entries of {@code moves} used
+	 */
+	void draw(Graphics g, int x, int y, Viewport viewport, Board board, int[] moves, int filled) {
+		this.sync(viewport, board, moves, filled);
+		g.drawImage(this.image, x, y, null);
+	}
+
+	/**
+	 * Renders whatever part of the image the view changed since the last draw
+	 *
+	 * @param viewport view of the board
+	 * @param board    board of the {@code Grid}
+	 * @param moves    cell indices of every {@code Shape} on the board
+	 * @param filled   number of entries of {@code moves} used
+	 */
+	private void sync(Viewport viewport, Board board, int[] moves, int filled) {
+		int width = viewport.getBox_Width();
+		int originX = -viewport.left(0);
+		int originY = -viewport.top(0);
+		int dx = originX - this.origin_X;
+		int dy = originY - this.origin_Y;
+
+		if (this.box_Width == width && dx == 0 && dy == 0 && this.size == board.getSize()) {
+			return;
+		}
+
+		boolean scroll = this.box_Width == width && this.size == board.getSize() && Math.abs(dx) < Viewport.AREA
+				&& Math.abs(dy) < Viewport.AREA;
+
+		this.size = board.getSize();
+		this.box_Width = width;
+		this.origin_X = originX;
+		this.origin_Y = originY;
+		this.renderRows();
+
+		if (!scroll) {
+			this.render(board, moves, filled, 0, 0, Viewport.AREA, Viewport.AREA);
+			return;
+		}
+
+		this.shift(dx, dy);
+		if (dx > 0) {
+			this.render(board, moves, filled, Viewport.AREA - dx, 0, Viewport.AREA, Viewport.AREA);
+		} else if (dx < 0) {
+			this.render(board, moves, filled, 0, 0, -dx, Viewport.AREA);
+		}
+		if (dy > 0) {
+			this.render(board, moves, filled, 0, Viewport.AREA - dy, Viewport.AREA, Viewport.AREA);
+		} else if (dy < 0) {
+			this.render(board, moves, filled, 0, 0, Viewport.AREA, -dy);
+		}
+	}
+
+	/**
+	 * Moves the pixels that stay in view after the view moved
+	 *
+	 * @param dx pixels the view moved right by
+	 * @param dy pixels the view moved down by
+	 */
+	private void shift(int dx, int dy) {
+		int area = Viewport.AREA;
+		int length = area - Math.abs(dx);
+		int from = Math.max(dx, 0);
+		int to = Math.max(-dx, 0);
+
+		// copy in the direction that never overwrites a row before it is read
+		if (dy >= 0) {
+			for (int row = 0; row < area - dy; row++) {
+				System.arraycopy(this.pixels, (row + dy) * area + from, this.pixels, row * area + to, length);
+			}
+		} else {
+			for (int row = area - 1; row >= -dy; row--) {
+				System.arraycopy(this.pixels, (row + dy) * area + from, this.pixels, row * area + to, length);
+			}
+		}
+	}
+
+	/**
+	 * Renders {@code line_Row} and {@code box_Row} for the current box width and
+	 * {@code origin_X}
+	 * <p>
+	 * The outer edges of the board have no line, as with the lines drawn by a
+	 * {@code Grid}, and pixels past the edge of the board are background
+	 */
+	private void renderRows() {
+		boolean lines = this.box_Width >= BoardRaster.LINE_BOX_WIDTH;
+		long end = (long) this.size * this.box_Width;
+
+		for (int x = 0; x < Viewport.AREA; x++) {
+			long boardX = (long) this.origin_X + x;
+			boolean onBoard = boardX < end;
+			this.line_Row[x] = onBoard && lines && boardX != 0 ? this.line : BoardRaster.BACKGROUND;
+			this.box_Row[x] = onBoard && lines && boardX != 0 && boardX % this.box_Width == 0 ? this.line
+					: BoardRaster.BACKGROUND;
+		}
+	}
+
+	/**
+	 * Renders a rectangle of the image: background and lines first, then every
+	 * box holding a {@code Shape}
+	 *
+	 * @param board  board of the {@code Grid}
+	 * @param moves  cell indices of every {@code Shape} on the board
+	 * @param filled number of entries of {@code moves} used
+	 * @param left   left edge of the rectangle
+	 * @param top    top edge of the rectangle
+	 * @param right  right edge of the rectangle, exclusive
+	 * @param bottom bottom edge of the rectangle, exclusive
+	 */
+	private void render(Board board, int[] moves, int filled, int left, int top, int right, int bottom) {
+		int area = Viewport.AREA;
+		boolean lines = this.box_Width >= BoardRaster.LINE_BOX_WIDTH;
+		long end = (long) this.size * this.box_Width;
+
+		for (int y = top; y < bottom; y++) {
+			long boardY = (long) this.origin_Y + y;
+			int at = y * area + left;
+			// the top edge of the board has no line, so not even the lines across it show
+			if (boardY >= end || boardY == 0 && lines) {
+				Arrays.fill(this.pixels, at, at + right - left, BoardRaster.BACKGROUND);
+			} else {
+				int[] row = lines && boardY % this.box_Width == 0 ? this.line_Row : this.box_Row;
+				System.arraycopy(row, left, this.pixels, at, right - left);
+			}
+		}
+
+		int firstRow = this.rowAt(top);
+		int firstCol = this.colAt(left);
+		int lastRow = Math.min(this.size - 1, this.rowAt(bottom - 1));
+		int lastCol = Math.min(this.size - 1, this.colAt(right - 1));
+
+		if (firstRow > lastRow || firstCol > lastCol) {
+			return;
+		}
+
+		if ((long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1) <= filled) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int col = firstCol; col <= lastCol; col++) {
+					ShapeTag tag = board.get(row, col);
+					if (tag != null) {
+						this.fillBox(row, col, tag, left, top, right, bottom);
+					}
+				}
+			}
+		} else {
+			for (int i = 0; i < filled; i++) {
+				int row = moves[i] / this.size;
+				int col = moves[i] % this.size;
+				if (row >= firstRow && row <= lastRow && col >= firstCol && col <= lastCol) {
+					this.fillBox(row, col, board.get(row, col), left, top, right, bottom);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fills the pixels of a box inside a rectangle of the image with its color,
+	 * leaving the lines at its left and top edge visible when they are drawn
+	 *
+	 * @param row    board row of the box
+	 * @param col    board column of the box
+	 * @param tag    {@code ShapeTag} in the box, {@code null} to empty it
+	 * @param left   left edge of the rectangle
+	 * @param top    top edge of the rectangle
+	 * @param right  right edge of the rectangle, exclusive
+	 * @param bottom bottom edge of the rectangle, exclusive
+	 */
+	private void fillBox(int row, int col, ShapeTag tag, int left, int top, int right, int bottom) {
+		int inset = this.box_Width >= BoardRaster.LINE_BOX_WIDTH ? 1 : 0;
+		long boxX = (long) col * this.box_Width - this.origin_X + inset;
+		long boxY = (long) row * this.box_Width - this.origin_Y + inset;
+
+		int fromX = (int) Math.max(left, boxX);
+		int fromY = (int) Math.max(top, boxY);
+		int toX = (int) Math.min(right, boxX + this.box_Width - inset);
+		int toY = (int) Math.min(bottom, boxY + this.box_Width - inset);
+
+		if (fromX >= toX || fromY >= toY) {
+			return;
+		}
+
+		int rgb = tag == null ? BoardRaster.BACKGROUND : this.palette.rgb(row, col, tag);
+		int area = Viewport.AREA;
+		for (int y = fromY; y < toY; y++) {
+			Arrays.fill(this.pixels, y * area + fromX, y * area + toX, rgb);
+		}
+	}
+
+	/**
+	 * Row rendered at a y coordinate of the image
+	 *
+	 * @param y y coordinate, not negative
+	 * @return board row
+	 */
+	private int rowAt(int y) {
+		return (int) (((long) y + this.origin_Y) / this.box_Width);
+	}
+
+	/**
+	 * Column rendered at an x coordinate of the image
+	 *
+	 * @param x x coordinate, not negative
+	 * @return board column
+	 */
+	private int colAt(int x) {
+		return (int) (((long) x + this.origin_X) / this.box_Width);
+	}
+
+}
@@ -2,18 +2,36 @@ package components;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import board.Board;
+import board.BoardType;
+import board.ChunkedBoard;
+import board.SegmentIndex;
+import board.Zobrist;
 import constants.Constants;
 import main.Game;
 import shapes.Shape;
+import shapes.ShapeAtlas;
 import shapes.ShapeTag;
 
 /**
  * Representation of the Grid portion of the Game board
  * <p>
- * Consitst of n {@code Box} in an internal array of boxes
+ * Consists of n by n boxes, whose geometry is computed from the origin of this
+ * Grid and its {@code Viewport} whenever it is needed rather than stored
+ * <p>
+ * Only the boxes in view are drawn, in a level of detail depending on how far
+ * the {@code Viewport} is zoomed in: glyphs when boxes are large, filled squares
+ * when they are small, and no lines once they would cover the board. Filled
+ * squares are written straight into the pixels of a {@code BoardRaster}
  * 
  * @author Samuel Brenner
  * @version 2.0
@@ -21,35 +39,113 @@ import shapes.ShapeTag;
  *
  */
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Grid {
 
 	/**
-	 * Global variable representing the width of each Box lying on this Grid
+	 * {@code Color} of this Grid
 	 */
-	public static final int BOX_WIDTH = 3 * Game.HEIGHT / 4 / Constants.GAME_SIZE;
+	private static final Color COLOR = Color.WHITE;
 
 	/**
-	 * {@code Color} of this Grid
+	 * {@code Color} of the {@code Shape} objects on this Grid
 	 */
-	private static final Color COLOR = Color.WHITE;
+	private static final Color SHAPE_COLOR = Color.GREEN;
+
+	/**
+	 * {@code Color} of the {@code Shape} objects in a winning segment
+	 */
+	private static final Color WIN_COLOR = Color.YELLOW;
+
+	/**
+	 * {@code Color} of the filled square standing in for each kind of
+	 * {@code Shape} when boxes are too small for glyphs, by
+	 * {@code ShapeTag.ordinal()}
+	 */
+	private static final Color[] FILL_COLORS = { Color.CYAN, Color.GREEN };
+
+	/**
+	 * Smallest width of a box at which {@code Shape} glyphs are drawn
+	 */
+	private static final int GLYPH_BOX_WIDTH = 8;
 
 	/**
-	 * Number of {@code Box} objects on this Grid (aka Quads)
+	 * Number of rows and columns around the middle of an unbounded board covered
+	 * by its {@code Minimap}, as the whole board would fit into a few pixels
 	 */
-	private static final int QUADS = Constants.GAME_SIZE * Constants.GAME_SIZE;
+	private static final int UNBOUNDED_MINIMAP_SPAN = 16 * ChunkedBoard.TILE;
 
 	/**
-	 * Matrix of Shapes that represent the board they sit on visually
+	 * Storage for which {@code ShapeTag}, if any, sits in each cell of this Grid
+	 */
+	private Board board;
+
+	/**
+	 * Index of every winnable segment on the board, used to report wins and dead
+	 * draws as soon as they happen
 	 * <p>
-	 * Matrix makes algorithmic win logic easier
+	 * {@code null} on {@code BoardType.SPARSE} and unbounded boards, as its size
+	 * grows with the area of the board
+	 */
+	private SegmentIndex segments;
+
+	/**
+	 * Matrix of Shapes read from a version 1 save file, moved onto the board by
+	 * init()
+	 */
+	private Shape[][] saved_Shapes;
+
+	/**
+	 * Cell indices of {@code ShapeTag.SHAPE_X} read from a save file, moved onto
+	 * the board by init()
+	 */
+	private int[] saved_X;
+
+	/**
+	 * Cell indices of {@code ShapeTag.SHAPE_O} read from a save file, moved onto
+	 * the board by init()
+	 */
+	private int[] saved_O;
+
+	/**
+	 * Part of the board shown on this Grid, and how far it is zoomed in
+	 */
+	private Viewport viewport;
+
+	/**
+	 * Lines between boxes, rendered once per box width one box larger than the
+	 * area of this Grid, and copied to the screen shifted by how far the view is
+	 * into its first box
 	 */
-	private Shape[][] shapes;
+	private BufferedImage lines_Layer;
 
 	/**
-	 * 1 dimensional array of {@code Box} objects that hold the bounds for each
-	 * {@code Box} on this Grid
+	 * Box width that {@code lines_Layer} was rendered for
 	 */
-	private Box[] boxes;
+	private int lines_Layer_Box_Width;
+
+	/**
+	 * Glyphs the {@code Shape} objects of this Grid are copied from, used only
+	 * by the thread drawing this Grid
+	 */
+	private final ShapeAtlas atlas = new ShapeAtlas(Color.BLACK);
+
+	/**
+	 * Pixels of the area of this Grid while boxes are too small for glyphs,
+	 * created the first time they are
+	 */
+	private BoardRaster raster;
+
+	/**
+	 * Overview of the board drawn next to the {@code HUD}, kept up to date by
+	 * every placed and cleared {@code Shape}
+	 */
+	private Minimap minimap;
+
+	/**
+	 * Clip of the Graphics being drawn to, reused by every draw()
+	 */
+	private final Rectangle clip_Bounds = new Rectangle();
 
 	/**
 	 * initial x coordinate for this Grid
@@ -67,27 +163,63 @@ public class Grid {
 	private int filledBoxes;
 
 	/**
-	 * Internal flag for the state of this Grid being first initialized
+	 * Cell indices of every {@code Shape} on the board, in the order they were
+	 * placed; the first {@code filledBoxes} entries are used
+	 * <p>
+	 * Lets clearing, drawing and saving visit only the occupied cells, so their
+	 * cost follows the number of moves played rather than the area of the board
+	 */
+	private int[] moves = new int[16];
+
+	/**
+	 * Zobrist hash of the {@code Shape} objects on the board, changed by every
+	 * {@code Shape} placed and cleared
+	 */
+	private long hash;
+
+	/**
+	 * Internal flag for the last winning segment being shown in
+	 * {@code WIN_COLOR}, until this Grid is cleared
+	 */
+	private boolean state_Won;
+
+	/**
+	 * Row steps of the four axes a win can lie on: row, column, diagonal and
+	 * anti-diagonal
 	 */
-	private boolean state_Init;
+	private static final int[] AXIS_ROW = { 0, 1, 1, 1 };
 
 	/**
-	 * The current {@code Shape} being added to this Grid
+	 * Column steps of the four axes a win can lie on, paired with
+	 * {@code AXIS_ROW}
 	 */
-	private Shape current_Shape;
+	private static final int[] AXIS_COL = { 1, 0, 1, -1 };
 
 	/**
-	 * Internal flag for letting the draw() method know if the {@code Shape} objects
-	 * need to be cleared
+	 * Row of the last {@code Shape} placed on this Grid, -1 if there is none
 	 */
-	private boolean clearShapes;
+	private int last_Row;
 
 	/**
-	 * The global number of current matches within the process of checking for a
-	 * win, once a certain number of {@code Shape} objects are placed onto the
-	 * screen
+	 * Column of the last {@code Shape} placed on this Grid, -1 if there is none
 	 */
-	private int curr_Matches;
+	private int last_Col;
+
+	/**
+	 * Id in {@code segments} of the segment completed by the last placed
+	 * {@code Shape}, -1 if it completed none
+	 */
+	private int last_Segment;
+
+	/**
+	 * Cell index of the first {@code Shape} in the last winning segment
+	 */
+	private int win_Start;
+
+	/**
+	 * Cell index of the last {@code Shape} in the last winning segment
+	 */
+	private int win_End;
 
 	/**
 	 * Constructor for this Grid
@@ -100,20 +232,21 @@ public class Grid {
 	 */
 	public Grid(int x, int y) {
 
-		this.boxes = new Box[Grid.QUADS];
+		this.createBoard();
 
-		this.shapes = new Shape[Constants.GAME_SIZE][Constants.GAME_SIZE];
+		this.viewport = Grid.createViewport();
+		if (Constants.BOARD_TYPE.isUnbounded()) {
+			this.viewport.centerOn(ChunkedBoard.EXTENT / 2, ChunkedBoard.EXTENT / 2);
+		}
 
 		this.x = x;
 		this.y = y;
 
 		this.filledBoxes = 0;
 
-		this.curr_Matches = 0;
-
-		this.state_Init = true;
-
-		this.clearShapes = false;
+		this.last_Row = -1;
+		this.last_Col = -1;
+		this.last_Segment = -1;
 
 		this.init();
 	}
@@ -122,123 +255,209 @@ public class Grid {
 	 * Default constructor
 	 */
 	public Grid() {
-
+		this.viewport = Grid.createViewport();
+		this.last_Row = -1;
+		this.last_Col = -1;
+		this.last_Segment = -1;
 	}
 
 	/**
-	 * Determines if the state of this Grid is one of a win Only called when the
-	 * number of objects on the board is 2 * {@code Main.GAME_SIZE} - 1
+	 * Determines if the last {@code Shape} placed on this Grid completed a win
+	 * <p>
+	 * Only the row, column and two diagonals running through the last placed
+	 * {@code Shape} are scanned, so the cost of a check is proportional to
+	 * {@code Constants.NUM_TO_MATCH} rather than to the size of this Grid
 	 * 
-	 * @return Object array of at least a Boolean, true if the current state of this
-	 *         Grid is a win, and an additional {@code ShapeTag} if the state is a
-	 *         win
+	 * <p>
+	 * The segment index already knows whether the last move completed a segment,
+	 * so no cells need to be scanned at all in the common case. If the last move
+	 * is not known, as after restoring from a save, the whole board is searched
+	 * instead
+	 * 
+	 * @return {@code ShapeTag} of the winner if the last move completed a win,
+	 *         {@code null} otherwise; the winning segment is available through
+	 *         {@code getWin_Start()} and {@code getWin_End()}
 	 */
 	@JsonIgnore
-	public Object[] checkWin() {
+	public ShapeTag checkWin() {
+		if (this.last_Row >= 0 && this.segments != null) {
+			if (this.last_Segment < 0) {
+				return null;
+			}
+			this.win_Start = this.segments.segmentStart(this.last_Segment);
+			this.win_End = this.segments.segmentEnd(this.last_Segment);
+			this.state_Won = true;
+			this.updateWin();
+			return this.board.get(this.last_Row, this.last_Col);
+		}
+		if (this.last_Row >= 0) {
+			return this.checkWin(this.last_Row, this.last_Col);
+		}
+		for (ShapeTag tag : ShapeTag.values()) {
+			int index = this.board.findRun(tag, Constants.NUM_TO_MATCH + 1);
+			if (index >= 0) {
+				return this.checkWin(index / this.board.getSize(), index % this.board.getSize());
+			}
+		}
+		return null;
+	}
 
-		boolean validated = false;
+	/**
+	 * Scans the four axes through the cell at ({@code row}, {@code col}) for a run
+	 * of {@code Constants.NUM_TO_MATCH + 1} {@code Shape} objects sharing its tag
+	 * 
+	 * @param row row of the cell to check from
+	 * @param col column of the cell to check from
+	 * @return {@code ShapeTag} of the winner, {@code null} if there is no win
+	 *         through this cell
+	 */
+	@JsonIgnore
+	private ShapeTag checkWin(int row, int col) {
 
-		for (Shape[] shapes : this.shapes) {
-			for (Shape me : shapes) {
-				if (me != null) {
-					Shape[] myBounds = me.getBounds();
-					for (int n = 0; n < myBounds.length; n++) {
-						this.curr_Matches = 0;
-						Shape next = myBounds[n];
-						Shape opp = myBounds[this.oppositeN(n)];
+		ShapeTag tag = this.board.get(row, col);
 
-						if (next == null) {
-							continue;
-						}
+		if (tag == null) {
+			return null;
+		}
 
-						boolean nextSameAsOpp = false;
+		for (int axis = 0; axis < Grid.AXIS_ROW.length; axis++) {
+			int dRow = Grid.AXIS_ROW[axis];
+			int dCol = Grid.AXIS_COL[axis];
 
-						if (next != null && opp != null) {
-							nextSameAsOpp = next.getTag() == opp.getTag();
-						}
+			int back = this.board.countRun(row, col, -dRow, -dCol, tag, Constants.NUM_TO_MATCH);
+			int forward = this.board.countRun(row, col, dRow, dCol, tag, Constants.NUM_TO_MATCH);
 
-						if (!nextSameAsOpp) {
-							validated = this.validate(me, next, n);
-							if (validated) {
-								return new Object[] { validated, me.getTag() };
-							}
-							this.curr_Matches = 0;
-						}
-					}
-				}
+			if (back + forward >= Constants.NUM_TO_MATCH) {
+				this.win_Start = this.cellIndex(row - back * dRow, col - back * dCol);
+				this.win_End = this.cellIndex(row + forward * dRow, col + forward * dCol);
+				this.state_Won = true;
+				this.updateWin();
+				return tag;
 			}
 		}
 
-		this.curr_Matches = 0;
-
-		return new Object[] { validated };
+		return null;
+	}
 
+	/**
+	 * Getter for the cell index (row * board size + column) at
+	 * which the last winning segment starts
+	 * 
+	 * @return cell index of the first {@code Shape} of the winning segment
+	 */
+	@JsonIgnore
+	public int getWin_Start() {
+		return win_Start;
 	}
 
 	/**
-	 * Recursively validates a {@code Shape} object with one of its surrounding
-	 * Shapes, going from {@code Shape} to {@code Shape} until either the correct
-	 * number of matches is acheived, or the end is reached and false is returned,
-	 * or another shape is hit and false is returned
+	 * Getter for the cell index (row * board size + column) at
+	 * which the last winning segment ends
 	 * 
-	 * @param me   current {@code Shape} object being looked at for further
-	 *             comparison
-	 * @param next the next {@code Shape} object in the recursive sequence
-	 * @param n    the index of the array surrounding the {@code Shape} object to
-	 *             continue the recursion on
-	 * @return boolean {@code true} if the initial {@code Shape} and its successive
-	 *         {@code Shape} objects at a certain node {@code n} form a row, column,
-	 *         or diagonal that constitue a win by the right number of {@code Shape}
-	 *         objects in a row
+	 * @return cell index of the last {@code Shape} of the winning segment
 	 */
 	@JsonIgnore
-	private boolean validate(Shape me, Shape next, int n) {
-		if (next == null && this.curr_Matches < Constants.NUM_TO_MATCH) {
-			return false;
-		} else if (this.curr_Matches == Constants.NUM_TO_MATCH) {
-			return true;
-		} else if (me.getTag() == next.getTag()) {
-			this.curr_Matches++;
-			return this.validate(next, next.getBounds()[n], n);
-		} else {
-			return false;
-		}
+	public int getWin_End() {
+		return win_End;
 	}
 
 	/**
-	 * Getter for internal matrix of {@code Shape} objects
+	 * Getter for the {@code Shape} objects in view on this Grid as a matrix
+	 * <p>
+	 * Allocates a matrix the size of this Grid, so is no longer what is written to
+	 * save files
 	 * 
-	 * @return reference to internal matrix of {@code Shape} objects
+	 * @return matrix of {@code Shape} objects, {@code null} where a cell is empty
 	 */
+	@JsonIgnore
 	public Shape[][] getShapes() {
+		Shape[][] shapes = new Shape[Constants.GAME_SIZE][Constants.GAME_SIZE];
+		int firstRow = this.viewport.getFirstRow();
+		int firstCol = this.viewport.getFirstCol();
+		if (this.board != null) {
+			int size = this.board.getSize();
+			for (int i = 0; i < this.filledBoxes; i++) {
+				int row = this.moves[i] / size;
+				int col = this.moves[i] % size;
+				if (row >= firstRow && col >= firstCol && row - firstRow < Constants.GAME_SIZE
+						&& col - firstCol < Constants.GAME_SIZE) {
+					shapes[row - firstRow][col - firstCol] = Shape.of(this.board.get(row, col));
+				}
+			}
+		}
 		return shapes;
 	}
 
 	/**
-	 * Setter for internal matrix of {@code Shape} objects
+	 * Setter for matrix of {@code Shape} objects read from a version 1 save file,
+	 * placed onto this Grid by init()
 	 * 
-	 * @param shapes new reference to assign to internal matrix
+	 * @param shapes matrix of {@code Shape} objects to restore
 	 */
+	@JsonProperty("shapes")
 	public void setShapes(Shape[][] shapes) {
-		this.shapes = shapes;
+		this.saved_Shapes = shapes;
+	}
+
+	/**
+	 * Getter for the cell indices (row * board size + column)
+	 * holding {@code ShapeTag.SHAPE_X}, as written to save files
+	 * 
+	 * @return cell indices of every X on this Grid
+	 */
+	public int[] getCells_X() {
+		return this.board == null ? this.saved_X : this.cellsOf(ShapeTag.SHAPE_X);
+	}
+
+	/**
+	 * Setter for cell indices holding {@code ShapeTag.SHAPE_X} read from a save
+	 * file, placed onto this Grid by init()
+	 * 
+	 * @param cells cell indices of every X to restore
+	 */
+	public void setCells_X(int[] cells) {
+		this.saved_X = cells;
 	}
 
 	/**
-	 * Getter for internal array of {@code Box} objects
+	 * Getter for the cell indices (row * board size + column)
+	 * holding {@code ShapeTag.SHAPE_O}, as written to save files
 	 * 
-	 * @return reference to internal array of {@code Box} objects
+	 * @return cell indices of every O on this Grid
 	 */
-	public Box[] getBoxes() {
-		return boxes;
+	public int[] getCells_O() {
+		return this.board == null ? this.saved_O : this.cellsOf(ShapeTag.SHAPE_O);
 	}
 
 	/**
-	 * Setter for internal array of {@code Box} objects
+	 * Setter for cell indices holding {@code ShapeTag.SHAPE_O} read from a save
+	 * file, placed onto this Grid by init()
 	 * 
-	 * @param boxes new reference to assign to internal array
+	 * @param cells cell indices of every O to restore
 	 */
-	public void setBoxes(Box[] boxes) {
-		this.boxes = boxes;
+	public void setCells_O(int[] cells) {
+		this.saved_O = cells;
+	}
+
+	/**
+	 * Collects the cell indices holding one kind of {@code Shape}, in the order
+	 * they were placed, visiting only occupied cells
+	 * 
+	 * @param tag {@code ShapeTag} to collect
+	 * @return cell indices holding {@code tag}
+	 */
+	@JsonIgnore
+	private int[] cellsOf(ShapeTag tag) {
+		int size = this.board.getSize();
+		int[] cells = new int[this.filledBoxes];
+		int count = 0;
+		for (int i = 0; i < this.filledBoxes; i++) {
+			int cell = this.moves[i];
+			if (this.board.get(cell / size, cell % size) == tag) {
+				cells[count++] = cell;
+			}
+		}
+		return Arrays.copyOf(cells, count);
 	}
 
 	/**
@@ -260,81 +479,109 @@ public class Grid {
 	}
 
 	/**
-	 * Getter for if this {@code Grid} is in an initial state
+	 * Getter for the board row shown in the top row of this {@code Grid}
 	 * 
-	 * @return true if this {@code Grid} is initiating
+	 * @return top visible board row
 	 */
-	public boolean isState_Init() {
-		return state_Init;
+	public int getView_Row() {
+		return this.viewport.getFirstRow();
 	}
 
 	/**
-	 * Setter for the internal initiation flag
+	 * Setter for the board row shown in the top row of this {@code Grid}
 	 * 
-	 * @param state_Init true if this {@code Grid} should be put into the
-	 *                   initialization state
+	 * @param view_Row new top visible board row
 	 */
-	public void setState_Init(boolean state_Init) {
-		this.state_Init = state_Init;
+	public void setView_Row(int view_Row) {
+		this.viewport.scrollTo(view_Row, this.viewport.getFirstCol());
 	}
 
 	/**
-	 * Getter for current {@code Shape} being drawn to the {@code Grid},
-	 * {@code null} if there is no shape needing to be drawn to the {@code Grid}
+	 * Getter for the board column shown in the left column of this {@code Grid}
 	 * 
-	 * @return current {@code Shape} for this {@code Grid}
+	 * @return left visible board column
 	 */
-	public Shape getCurrent_Shape() {
-		return current_Shape;
+	public int getView_Col() {
+		return this.viewport.getFirstCol();
 	}
 
 	/**
-	 * Setter for the current {@code Shape} object
+	 * Setter for the board column shown in the left column of this {@code Grid}
 	 * 
-	 * @param current_Shape new reference for current {@code Shape} for this
-	 *                      {@code Grid}
+	 * @param view_Col new left visible board column
 	 */
-	public void setCurrent_Shape(Shape current_Shape) {
-		this.current_Shape = current_Shape;
+	public void setView_Col(int view_Col) {
+		this.viewport.scrollTo(this.viewport.getFirstRow(), view_Col);
 	}
 
 	/**
-	 * Getter for the internal flag of if this {@code Grid} is/should clearing
-	 * shapes
+	 * Getter for the width of each box on this {@code Grid}, in pixels
 	 * 
-	 * @return {@code true} if this {@code Grid} is clearing {@code Shape} objects
+	 * @return width of a box at the current zoom
 	 */
-	public boolean isClearShapes() {
-		return clearShapes;
+	public int getBox_Width() {
+		return this.viewport.getBox_Width();
 	}
 
 	/**
-	 * Setter for internal flag of if a clear state should be executed
+	 * Setter for the width of each box on this {@code Grid}, keeping the same box
+	 * in the upper left corner
 	 * 
-	 * @param clearShapes {@code true} if a clear state should be initialized in
-	 *                    this {@code Grid}
+	 * @param box_Width new width of a box, clamped to the zoom range
 	 */
-	public void setClearShapes(boolean clearShapes) {
-		this.clearShapes = clearShapes;
+	public void setBox_Width(int box_Width) {
+		this.viewport.setBox_Width(box_Width);
 	}
 
 	/**
-	 * Number of current {@code Shape} matches present during win algorithm
-	 * execution
+	 * Getter for the number of whole boxes across the area of this {@code Grid}
 	 * 
-	 * @return int representing the current number of matches on this {@code Grid}
+	 * @return number of rows or columns in view
 	 */
-	public int getCurr_Matches() {
-		return curr_Matches;
+	@JsonIgnore
+	public int getVisible_Boxes() {
+		return Viewport.AREA / this.viewport.getBox_Width();
 	}
 
 	/**
-	 * Sets the number of current matches on this {@code Grid}
+	 * Moves the view a whole number of boxes, keeping it on the board
 	 * 
-	 * @param curr_Matches
+	 * @param dRow number of rows to move the view down by
+	 * @param dCol number of columns to move the view right by
+	 * @return true if the view moved and this {@code Grid} needs redrawing
 	 */
-	public void setCurr_Matches(int curr_Matches) {
-		this.curr_Matches = curr_Matches;
+	@JsonIgnore
+	public boolean pan(int dRow, int dCol) {
+		int width = this.viewport.getBox_Width();
+		return this.viewport.pan(dCol * width, dRow * width);
+	}
+
+	/**
+	 * Moves the view by a number of pixels, as when dragging the board, keeping
+	 * it on the board
+	 * 
+	 * @param dx pixels to move the view right by
+	 * @param dy pixels to move the view down by
+	 * @return true if the view moved and this {@code Grid} needs redrawing
+	 */
+	@JsonIgnore
+	public boolean drag(int dx, int dy) {
+		return this.viewport.pan(dx, dy);
+	}
+
+	/**
+	 * Zooms the view in or out around a point of the screen
+	 * 
+	 * @param x     x coordinate of the point
+	 * @param y     y coordinate of the point
+	 * @param steps number of steps to zoom in by, negative to zoom out
+	 * @return true if the zoom changed and this {@code Grid} needs redrawing
+	 */
+	@JsonIgnore
+	public boolean zoom(int x, int y, int steps) {
+		int relX = Math.max(0, Math.min(Viewport.AREA - 1, x - this.x));
+		int relY = Math.max(0, Math.min(Viewport.AREA - 1, y - this.y));
+		return this.viewport.zoom(relX, relY, steps);
 	}
 
 	/**
@@ -374,230 +621,679 @@ public class Grid {
 	}
 
 	/**
-	 * Based on a size of {@code Shape.BOUNDS_SIZE}, determines the opposite index
-	 * of {@code n} which would appear visually on the opposite side of a given
-	 * {@code Shape} on the {@code Grid}
+	 * Clears the Shape objects from the Grid
+	 * <p>
+	 * Only the cells in {@code moves} are emptied, from the board, the segment
+	 * index, the {@code Minimap} and the pixels of the {@code BoardRaster} alike,
+	 * and XORed out of the hash one by one
+	 */
+	@JsonIgnore
+	public void clear() {
+		int size = this.board.getSize();
+		for (int i = 0; i < this.filledBoxes; i++) {
+			int row = this.moves[i] / size;
+			int col = this.moves[i] % size;
+			ShapeTag tag = this.board.get(row, col);
+			this.hash ^= Zobrist.key(this.moves[i], tag);
+			this.minimap.remove(row, col, tag);
+			if (this.raster != null) {
+				this.raster.update(this.viewport, row, col, null);
+			}
+		}
+		this.board.clear(this.moves, this.filledBoxes);
+		if (this.segments != null) {
+			this.segments.clear(this.moves, this.filledBoxes);
+		}
+		this.filledBoxes = 0;
+		this.state_Won = false;
+		this.last_Row = -1;
+		this.last_Col = -1;
+		this.last_Segment = -1;
+	}
+
+	/**
+	 * Requests a repaint of the box holding the last placed {@code Shape}, and
+	 * of the {@code Minimap} that now counts it
 	 * 
-	 * @param n the index of comparison
-	 * @return an int representing a visually flipped indexi
+	 * @param game Game this Grid is drawn on
 	 */
 	@JsonIgnore
-	private int oppositeN(int n) {
-		if (n < Shape.BOUNDS_SIZE / 2) {
-			return n + Shape.BOUNDS_SIZE / 2;
-		} else {
-			return n - Shape.BOUNDS_SIZE / 2;
+	public void repaintLast(Game game) {
+		if (this.last_Row >= 0 && this.inView(this.last_Row, this.last_Col)) {
+			int width = this.viewport.getBox_Width();
+			game.requestRepaint(this.cellX(this.last_Col), this.cellY(this.last_Row), width, width);
+		}
+		if (this.last_Row >= 0) {
+			this.minimap.repaint(game);
 		}
 	}
 
 	/**
-	 * Clears the Shape objects from the Grid
+	 * Requests a repaint of the boxes of the last winning segment that are in
+	 * view
+	 * <p>
+	 * A segment along a row or column is a single rectangle, a diagonal one is
+	 * requested box by box
+	 * 
+	 * @param game Game this Grid is drawn on
 	 */
 	@JsonIgnore
-	public void clear() {
-		for (int i = 0; i < this.shapes.length; i++) {
-			for (int j = 0; j < this.shapes[i].length; j++) {
-				if (this.shapes[i][j] != null) {
-					this.shapes[i][j].setColor(Color.BLACK);
-				}
-				this.clearShapes = true;
+	public void repaintWin(Game game) {
+		int size = this.board.getSize();
+		int startRow = this.win_Start / size;
+		int startCol = this.win_Start % size;
+		int endRow = this.win_End / size;
+		int endCol = this.win_End % size;
+		int width = this.viewport.getBox_Width();
+
+		if (startRow == endRow || startCol == endCol) {
+			int top = Math.max(startRow, this.viewport.getFirstRow());
+			int left = Math.max(startCol, this.viewport.getFirstCol());
+			int bottom = Math.min(endRow, this.viewport.getLastRow());
+			int right = Math.min(endCol, this.viewport.getLastCol());
+			if (top <= bottom && left <= right) {
+				game.requestRepaint(this.cellX(left), this.cellY(top), (right - left + 1) * width,
+						(bottom - top + 1) * width);
 			}
+			return;
 		}
-		this.filledBoxes = 0;
-		this.current_Shape = null;
-		this.curr_Matches = 0;
+
+		int dCol = Integer.signum(endCol - startCol);
+		for (int step = 0; step <= endRow - startRow; step++) {
+			int row = startRow + step;
+			int col = startCol + step * dCol;
+			if (this.inView(row, col)) {
+				game.requestRepaint(this.cellX(col), this.cellY(row), width, width);
+			}
+		}
+	}
+
+	/**
+	 * Requests a repaint of the whole of this Grid, and of its {@code Minimap},
+	 * which outlines the part of the board in view
+	 * 
+	 * @param game Game this Grid is drawn on
+	 */
+	@JsonIgnore
+	public void repaintAll(Game game) {
+		game.requestRepaint(this.x, this.y, Viewport.AREA, Viewport.AREA);
+		if (this.minimap != null) {
+			this.minimap.repaint(game);
+		}
+	}
+
+	/**
+	 * Draws the {@code Minimap} of this Grid next to the {@code HUD}, if it is
+	 * inside the clip of g
+	 * 
+	 * @param g Graphics for painting to JPanel
+	 */
+	@JsonIgnore
+	public void drawMinimap(Graphics g) {
+		if (this.minimap != null) {
+			this.minimap.draw(g, this.viewport);
+		}
+	}
+
+	/**
+	 * Centers the view on the part of the board under a point of the
+	 * {@code Minimap}
+	 * 
+	 * @param x x location of cursor
+	 * @param y y location of cursor
+	 * @return true if the point is on the {@code Minimap}
+	 */
+	@JsonIgnore
+	public boolean centerOnMinimap(int x, int y) {
+		if (this.minimap == null || !this.minimap.contains(x, y)) {
+			return false;
+		}
+		this.viewport.centerOn(this.minimap.rowAt(y), this.minimap.colAt(x));
+		return true;
 	}
 
 	/**
-	 * Draws the Grid and all of its components to the JPanel
+	 * Draws the part of this Grid inside the clip of g to the JPanel
+	 * <p>
+	 * Only boxes in view are drawn. The boxes the clip touches are visited one by
+	 * one when that is fewer than the number of {@code Shape} objects on the
+	 * board, so repainting a single box costs the same on any size of Grid
+	 * <p>
+	 * Boxes too small for glyphs are drawn with a single copy of the
+	 * {@code BoardRaster}, which only renders the pixels that changed
 	 * 
 	 * @param g Graphics for painting to JPanel
 	 */
 	@JsonIgnore
 	public void draw(Graphics g) {
+		Rectangle clip = this.clip_Bounds;
+		clip.setBounds(this.x, this.y, Viewport.AREA, Viewport.AREA);
+		g.getClipBounds(clip);
 
-		g.setColor(Grid.COLOR);
+		int left = Math.max(clip.x - this.x, 0);
+		int top = Math.max(clip.y - this.y, 0);
+		int right = Math.min(clip.x + clip.width - this.x, Viewport.AREA);
+		int bottom = Math.min(clip.y + clip.height - this.y, Viewport.AREA);
 
-		if (Game.FROM_SAVE_STATE) {
+		if (left >= right || top >= bottom) {
+			return;
+		}
 
-			this.state_Init = false;
-			for (int mult = 1; mult < Constants.GAME_SIZE; mult++) {
-				g.drawLine(this.x + mult * Grid.BOX_WIDTH, this.y, this.x + mult * Grid.BOX_WIDTH,
-						this.y + Constants.GAME_SIZE * Grid.BOX_WIDTH);
-				g.drawLine(this.x, this.y + mult * Grid.BOX_WIDTH, this.x + Constants.GAME_SIZE * Grid.BOX_WIDTH,
-						this.y + mult * Grid.BOX_WIDTH);
+		if (this.viewport.getBox_Width() < Grid.GLYPH_BOX_WIDTH) {
+			if (this.raster == null) {
+				this.raster = new BoardRaster(this::boxColor, Grid.COLOR.getRGB());
 			}
+			Graphics area = g.create();
+			area.clipRect(this.x + left, this.y + top, right - left, bottom - top);
+			this.raster.draw(area, this.x, this.y, this.viewport, this.board, this.moves, this.filledBoxes);
+			area.dispose();
+			return;
+		}
 
-			if (this.shapes != null) {
-				for (Shape[] shapes : this.shapes) {
-					for (Shape shape : shapes) {
-						if (shape != null) {
-							shape.setColor(Color.GREEN);
-							shape.draw(g);
-						}
+		g.setColor(Color.BLACK);
+		g.fillRect(this.x + left, this.y + top, right - left, bottom - top);
+
+		right = Math.min(right, this.viewport.getWidth());
+		bottom = Math.min(bottom, this.viewport.getHeight());
+
+		if (left >= right || top >= bottom) {
+			return;
+		}
+
+		// boxes cut by the edge of the view must not spill out of it
+		Graphics board = g.create();
+		board.clipRect(this.x + left, this.y + top, right - left, bottom - top);
+
+		this.drawLines(board, left, top, right, bottom);
+
+		int firstRow = this.viewport.rowAt(top);
+		int lastRow = this.viewport.rowAt(bottom - 1);
+		int firstCol = this.viewport.colAt(left);
+		int lastCol = this.viewport.colAt(right - 1);
+
+		if ((long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1) <= this.filledBoxes) {
+			for (int row = firstRow; row <= lastRow; row++) {
+				for (int col = firstCol; col <= lastCol; col++) {
+					ShapeTag tag = this.board.get(row, col);
+					if (tag != null) {
+						this.drawShape(board, row, col, tag);
 					}
 				}
 			}
+		} else {
+			int size = this.board.getSize();
+			for (int i = 0; i < this.filledBoxes; i++) {
+				int row = this.moves[i] / size;
+				int col = this.moves[i] % size;
+				if (this.inView(row, col)) {
+					this.drawShape(board, row, col, this.board.get(row, col));
+				}
+			}
+		}
+
+		board.dispose();
+	}
 
-			Game.FROM_SAVE_STATE = false;
+	/**
+	 * Draws the lines between the boxes of this Grid inside a rectangle, with a
+	 * single copy of {@code lines_Layer}
+	 * <p>
+	 * The outer edges of the board have no line, as with the lines drawn one by
+	 * one before
+	 * 
+	 * @param g      Graphics for painting to JPanel
+	 * @param left   left edge of the rectangle, relative to this Grid
+	 * @param top    top edge of the rectangle, relative to this Grid
+	 * @param right  right edge of the rectangle, exclusive
+	 * @param bottom bottom edge of the rectangle, exclusive
+	 */
+	@JsonIgnore
+	private void drawLines(Graphics g, int left, int top, int right, int bottom) {
+		int width = this.viewport.getBox_Width();
+		if (this.lines_Layer == null || this.lines_Layer_Box_Width != width) {
+			this.renderLines(g);
 		}
 
-		if (this.current_Shape != null) {
-			this.current_Shape.setColor(Color.GREEN);
-			this.current_Shape.draw(g);
-			this.current_Shape = null;
+		// the first line of the board is its outer edge when the view is at the edge
+		left = Math.max(left, this.viewport.left(0) == 0 ? 1 : 0);
+		top = Math.max(top, this.viewport.top(0) == 0 ? 1 : 0);
+		if (left >= right || top >= bottom) {
+			return;
 		}
 
-		if (this.clearShapes) {
-			for (int i = 0; i < this.shapes.length; i++) {
-				for (int j = 0; j < this.shapes[i].length; j++) {
-					Shape s = this.shapes[i][j];
-					if (s != null) {
-						s.draw(g);
-						s.setColor(Color.GREEN);
-						this.shapes[i][j] = null;
-					}
-				}
-			}
-			this.clearShapes = false;
+		Graphics lines = g.create();
+		lines.clipRect(this.x + left, this.y + top, right - left, bottom - top);
+		lines.drawImage(this.lines_Layer, this.x - this.viewport.offsetX(0), this.y - this.viewport.offsetY(0),
+				null);
+		lines.dispose();
+	}
+
+	/**
+	 * Renders the background and lines of this Grid into {@code lines_Layer}, with
+	 * a line at the left and top edge of every box
+	 * 
+	 * @param g Graphics for painting to JPanel, used to create an image that is
+	 *          quick to copy to it
+	 */
+	@JsonIgnore
+	private void renderLines(Graphics g) {
+		int width = this.viewport.getBox_Width();
+		int span = Viewport.AREA + width;
+
+		this.lines_Layer = g instanceof Graphics2D
+				? ((Graphics2D) g).getDeviceConfiguration().createCompatibleImage(span, span)
+				: new BufferedImage(span, span, BufferedImage.TYPE_INT_RGB);
+		this.lines_Layer_Box_Width = width;
+
+		Graphics layer = this.lines_Layer.getGraphics();
+		layer.setColor(Color.BLACK);
+		layer.fillRect(0, 0, span, span);
+		layer.setColor(Grid.COLOR);
+		for (int at = 0; at < span; at += width) {
+			layer.drawLine(at, 0, at, span);
+			layer.drawLine(0, at, span, at);
 		}
+		layer.dispose();
+	}
 
-		if (this.state_Init) {
-			this.state_Init = false;
-			for (int mult = 1; mult < Constants.GAME_SIZE; mult++) {
-				g.drawLine(this.x + mult * Grid.BOX_WIDTH, this.y, this.x + mult * Grid.BOX_WIDTH,
-						this.y + Constants.GAME_SIZE * Grid.BOX_WIDTH);
-				g.drawLine(this.x, this.y + mult * Grid.BOX_WIDTH, this.x + Constants.GAME_SIZE * Grid.BOX_WIDTH,
-						this.y + mult * Grid.BOX_WIDTH);
+	/**
+	 * Draws the {@code Shape} in a box of this Grid, in {@code WIN_COLOR} if it is
+	 * part of the winning segment being shown
+	 * 
+	 * @param g   Graphics for painting to JPanel
+	 * @param row board row of the box
+	 * @param col board column of the box
+	 * @param tag {@code ShapeTag} in the box
+	 */
+	@JsonIgnore
+	private void drawShape(Graphics g, int row, int col, ShapeTag tag) {
+		Shape.of(tag).draw(g, this.cellX(col), this.cellY(row), this.viewport.getBox_Width(),
+				this.isWinning(row, col) ? Grid.WIN_COLOR : Grid.SHAPE_COLOR, this.atlas);
+	}
+
+	/**
+	 * Color of the square standing in for the {@code Shape} in a box too small
+	 * for a glyph, in {@code WIN_COLOR} if it is part of the winning segment
+	 * being shown
+	 * 
+	 * @param row board row of the box
+	 * @param col board column of the box
+	 * @param tag {@code ShapeTag} in the box
+	 * @return RGB value of the square
+	 */
+	@JsonIgnore
+	private int boxColor(int row, int col, ShapeTag tag) {
+		return (this.isWinning(row, col) ? Grid.WIN_COLOR : Grid.FILL_COLORS[tag.ordinal()]).getRGB();
+	}
+
+	/**
+	 * Rewrites the pixels of the {@code BoardRaster} for every box of the winning
+	 * segment being shown, now drawn in {@code WIN_COLOR}
+	 */
+	@JsonIgnore
+	private void updateWin() {
+		if (this.raster == null) {
+			return;
+		}
+
+		int size = this.board.getSize();
+		int row = this.win_Start / size;
+		int col = this.win_Start % size;
+		int endRow = this.win_End / size;
+		int endCol = this.win_End % size;
+		int dRow = Integer.signum(endRow - row);
+		int dCol = Integer.signum(endCol - col);
+
+		while (true) {
+			this.raster.update(this.viewport, row, col, this.board.get(row, col));
+			if (row == endRow && col == endCol) {
+				return;
 			}
+			row += dRow;
+			col += dCol;
+		}
+	}
+
+	/**
+	 * Determines if a board cell lies on the winning segment being shown
+	 * 
+	 * @param row board row of the cell
+	 * @param col board column of the cell
+	 * @return true if the cell is part of the shown winning segment
+	 */
+	@JsonIgnore
+	private boolean isWinning(int row, int col) {
+		if (!this.state_Won) {
+			return false;
 		}
 
+		int size = this.board.getSize();
+		int startRow = this.win_Start / size;
+		int startCol = this.win_Start % size;
+		int endRow = this.win_End / size;
+		int endCol = this.win_End % size;
+		int dRow = Integer.signum(endRow - startRow);
+		int dCol = Integer.signum(endCol - startCol);
+		int steps = Math.max(endRow - startRow, Math.abs(endCol - startCol));
+		int step = dRow != 0 ? row - startRow : (col - startCol) * dCol;
+
+		return step >= 0 && step <= steps && row == startRow + step * dRow && col == startCol + step * dCol;
 	}
 
 	/**
-	 * Setup for this.boxes
+	 * Determines if a board cell is currently shown on this Grid
+	 * 
+	 * @param row board row of the cell
+	 * @param col board column of the cell
+	 * @return true if the cell is in view
 	 */
 	@JsonIgnore
-	public void init() {
+	private boolean inView(int row, int col) {
+		return this.viewport.contains(row, col);
+	}
 
-		int workingX = this.x;
-		int workingY = this.y;
+	/**
+	 * x coordinate of the left edge of a board column on screen
+	 * 
+	 * @param col board column
+	 * @return x coordinate in pixels
+	 */
+	@JsonIgnore
+	private int cellX(int col) {
+		return this.x + this.viewport.left(col);
+	}
 
-		if (!Game.FROM_SAVE_STATE) {
-			for (int index = 0; index < this.boxes.length; index++) {
+	/**
+	 * y coordinate of the top edge of a board row on screen
+	 * 
+	 * @param row board row
+	 * @return y coordinate in pixels
+	 */
+	@JsonIgnore
+	private int cellY(int row) {
+		return this.y + this.viewport.top(row);
+	}
 
-				if (index % Constants.GAME_SIZE == 0 && index > 0) {
-					workingY += Grid.BOX_WIDTH;
-					workingX = this.x;
-				}
+	/**
+	 * Zobrist hash of the {@code Shape} objects on this Grid, the same for the
+	 * same position however it was reached
+	 * 
+	 * @return 64 bit hash, 0 for an empty Grid
+	 */
+	@JsonIgnore
+	public long getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * Number of rows and columns of the board, which for an unbounded board is
+	 * more than are ever in view
+	 * 
+	 * @return size of the board
+	 */
+	@JsonIgnore
+	public int getBoard_Size() {
+		return this.board.getSize();
+	}
 
-				this.boxes[index] = new Box(workingX, workingY, Grid.BOX_WIDTH);
+	/**
+	 * Packs a board cell into a cell index, row * board size + column
+	 * 
+	 * @param row board row
+	 * @param col board column
+	 * @return cell index
+	 */
+	@JsonIgnore
+	private int cellIndex(int row, int col) {
+		return row * this.board.getSize() + col;
+	}
 
-				workingX += Grid.BOX_WIDTH;
-			}
+	/**
+	 * Creates an empty board, its segment index where the board type has one and
+	 * its {@code Minimap}, for the current {@code Constants}
+	 */
+	@JsonIgnore
+	private void createBoard() {
+		this.board = Constants.BOARD_TYPE.create(Constants.GAME_SIZE);
+		this.hash = 0;
+		this.segments = Grid.hasSegmentIndex(Constants.BOARD_TYPE)
+				? new SegmentIndex(Constants.GAME_SIZE, Constants.NUM_TO_MATCH + 1)
+				: null;
+
+		int[] colors = new int[Grid.FILL_COLORS.length];
+		for (int ordinal = 0; ordinal < colors.length; ordinal++) {
+			colors[ordinal] = Grid.FILL_COLORS[ordinal].getRGB();
+		}
+		this.minimap = Constants.BOARD_TYPE.isUnbounded()
+				? new Minimap((ChunkedBoard.EXTENT - Grid.UNBOUNDED_MINIMAP_SPAN) / 2, Grid.UNBOUNDED_MINIMAP_SPAN,
+						colors)
+				: new Minimap(0, Constants.GAME_SIZE, colors);
+		if (this.raster != null) {
+			this.raster.invalidate();
+		}
+	}
+
+	/**
+	 * Creates a {@code Viewport} for the current {@code Constants}, fitting
+	 * {@code Constants.GAME_SIZE} boxes across, which is the whole of a bounded
+	 * board
+	 * 
+	 * @return new {@code Viewport}
+	 */
+	private static Viewport createViewport() {
+		int size = Constants.BOARD_TYPE.isUnbounded() ? ChunkedBoard.EXTENT : Constants.GAME_SIZE;
+		return new Viewport(size, Constants.GAME_SIZE);
+	}
+
+	/**
+	 * Determines if a Grid backed by a kind of {@code Board} keeps a segment
+	 * index, which is only worth it when the board already grows with its area
+	 * 
+	 * @param type kind of {@code Board}
+	 * @return true if a {@code SegmentIndex} is kept
+	 */
+	private static boolean hasSegmentIndex(BoardType type) {
+		return type != BoardType.SPARSE && !type.isUnbounded();
+	}
+
+	/**
+	 * Estimates the heap a Grid would need, from its board and segment index
+	 * 
+	 * @param type kind of {@code Board} backing the Grid
+	 * @param size number of rows and columns
+	 * @return estimated footprint in bytes
+	 */
+	public static long estimateBytes(BoardType type, int size) {
+		long bytes = type.estimateBytes(size);
+		if (Grid.hasSegmentIndex(type)) {
+			bytes += SegmentIndex.estimateBytes(size);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Puts a {@code Shape} read from a save file onto the board
+	 * 
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @param tag {@code ShapeTag} in the cell
+	 */
+	@JsonIgnore
+	private void restore(int row, int col, ShapeTag tag) {
+		this.board.set(row, col, tag);
+		if (this.segments != null) {
+			this.segments.place(row, col, tag);
 		}
+		this.addMove(row, col, tag);
+	}
+
+	/**
+	 * Appends a cell to {@code moves}, counting it as filled, and counts it on
+	 * the {@code Minimap} and in the hash
+	 * 
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @param tag {@code ShapeTag} in the cell
+	 */
+	@JsonIgnore
+	private void addMove(int row, int col, ShapeTag tag) {
+		if (this.filledBoxes == this.moves.length) {
+			this.moves = Arrays.copyOf(this.moves, 2 * this.moves.length);
+		}
+		int cell = this.cellIndex(row, col);
+		this.moves[this.filledBoxes++] = cell;
+		this.hash ^= Zobrist.key(cell, tag);
+		this.minimap.place(row, col, tag);
+	}
+
+	/**
+	 * Setup for the board when restoring from a save
+	 * <p>
+	 * Nothing is set up per box: box geometry is computed on demand by
+	 * {@code cellX}, {@code cellY} and {@code placeShape}. Nothing is drawn per
+	 * restored {@code Shape} either: a board zoomed out too far for glyphs is
+	 * rendered into the {@code BoardRaster} in one pass on the first draw, and
+	 * reaches the screen as a single image
+	 */
+	@JsonIgnore
+	public void init() {
 
 		if (Game.FROM_SAVE_STATE) {
-			for (Shape[] shapes : this.shapes) {
-				for (Shape shape : shapes) {
-					if (shape != null) {
-						this.placeShape(shape.getTag(), shape.getX(), shape.getY());
+			this.createBoard();
+			this.filledBoxes = 0;
+			if (this.saved_Shapes != null) {
+				for (int row = 0; row < this.saved_Shapes.length; row++) {
+					for (int col = 0; col < this.saved_Shapes[row].length; col++) {
+						Shape shape = this.saved_Shapes[row][col];
+						if (shape != null) {
+							this.restore(row, col, shape.getTag());
+						}
 					}
 				}
+				this.saved_Shapes = null;
+			}
+			int size = this.board.getSize();
+			if (this.saved_X != null) {
+				for (int cell : this.saved_X) {
+					this.restore(cell / size, cell % size, ShapeTag.SHAPE_X);
+				}
+				this.saved_X = null;
+			}
+			if (this.saved_O != null) {
+				for (int cell : this.saved_O) {
+					this.restore(cell / size, cell % size, ShapeTag.SHAPE_O);
+				}
+				this.saved_O = null;
 			}
 		}
 
 	}
 
 	/**
-	 * Returns true if all the {@code Box} objects in the interal array are filled
-	 * with {@code Shape} objects
+	 * Returns true if all the boxes of this Grid are filled with {@code Shape}
+	 * objects
+	 * <p>
+	 * An unbounded board is never filled
 	 * 
 	 * @return true if all the boxes in this Grid are filled with Shapes
 	 */
 	@JsonIgnore
 	public boolean isFilled() {
-		return this.filledBoxes == Grid.QUADS;
+		return !Constants.BOARD_TYPE.isUnbounded() && this.filledBoxes == Constants.GAME_SIZE * Constants.GAME_SIZE;
+	}
+
+	/**
+	 * Returns true if neither player can complete a row anymore, because every
+	 * segment long enough to win already holds both kinds of {@code Shape}
+	 * 
+	 * @return true if the round on this Grid can only end in a draw
+	 */
+	@JsonIgnore
+	public boolean isDrawn() {
+		return this.segments != null && this.segments.isDead();
 	}
 
 	/**
 	 * Adds a Shape to the Grid
+	 * <p>
+	 * The box under the cursor is computed directly from the cursor
+	 * position, so this takes the same time on any size of Grid. A cursor lying
+	 * exactly on the line between two boxes is inside both of them, and goes to
+	 * the first empty one in row major order
 	 * 
 	 * @param tag {@code ShapeTag} identifier as to what kind of {@code Shape} to
-	 *            place in a {@code Box}
+	 *            place in a box
 	 * @param x   x location of cursor
 	 * @param y   y location of cursor
 	 * @return true if a {@code Shape} of type tag was added to the Grid
 	 */
 	@JsonIgnore
 	public boolean placeShape(ShapeTag tag, int x, int y) {
-		for (int index = 0; index < this.boxes.length; index++) {
-			Box box = this.boxes[index];
-
-			int[] coordinates = box.boxCoordinates();
-			int startX = coordinates[0];
-			int startY = coordinates[1];
-			int endX = coordinates[2];
-			int endY = coordinates[3];
+		int relX = x - this.x;
+		int relY = y - this.y;
 
-			int relRow = index / Constants.GAME_SIZE;
-			int relCol = index % Constants.GAME_SIZE;
-
-			if (x >= startX && x <= endX && y >= startY && y <= endY && this.shapes[relRow][relCol] == null) {
-
-				this.current_Shape = new Shape(startX + Shape.INDENT, startY + Shape.INDENT, tag);
-
-				this.fillRespectiveBounds(relRow, relCol, this.current_Shape);
+		if (relX < 0 || relY < 0 || relX > this.viewport.getWidth() || relY > this.viewport.getHeight()) {
+			return false;
+		}
 
-				this.shapes[relRow][relCol] = this.current_Shape;
-				this.filledBoxes++;
-				return true;
+		int size = this.board.getSize();
+		int lastRow = Math.min(this.viewport.rowAt(relY), size - 1);
+		int lastCol = Math.min(this.viewport.colAt(relX), size - 1);
+		int firstRow = this.viewport.offsetY(relY) == 0 && lastRow > 0 ? this.viewport.rowAt(relY) - 1 : lastRow;
+		int firstCol = this.viewport.offsetX(relX) == 0 && lastCol > 0 ? this.viewport.colAt(relX) - 1 : lastCol;
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int col = firstCol; col <= lastCol; col++) {
+				if (this.board.get(row, col) == null) {
+					this.place(row, col, tag);
+					return true;
+				}
 			}
 		}
 
 		return false;
 	}
 
+	/**
+	 * Adds a Shape to a cell of the board, as for a move chosen by the computer
+	 * rather than by a click
+	 * 
+	 * @param tag  {@code ShapeTag} identifier as to what kind of {@code Shape} to
+	 *             place
+	 * @param cell cell index (row * board size + column) of the box
+	 * @return true if the box was empty and a {@code Shape} of type tag was added
+	 */
 	@JsonIgnore
-	private boolean validateIndex(int index) {
-		return index >= 0 && index < this.shapes.length;
+	public boolean placeShapeAt(ShapeTag tag, int cell) {
+		int size = this.board.getSize();
+		int row = cell / size;
+		int col = cell % size;
+		if (cell < 0 || row >= size || this.board.get(row, col) != null) {
+			return false;
+		}
+		this.place(row, col, tag);
+		return true;
 	}
 
 	/**
-	 * Fills the {@code Shape.bounds} array such that all elements around this
-	 * {@code Shape} are placed into its bounds array, and it is placed into the
-	 * correct location of the other respective {@code Shape} object's arrays
+	 * Puts a {@code ShapeTag} into an empty cell as the last move
 	 * 
-	 * @param row   row of the current shape in this internal array of {@code Shape}
-	 *              objects
-	 * @param col   column of the current shape in this internal array of
-	 *              {@code Shape} objects
-	 * @param shape {@code Shape} object for comparison
+	 * @param row row of the cell
+	 * @param col column of the cell
+	 * @param tag {@code ShapeTag} to place
 	 */
 	@JsonIgnore
-	private void fillRespectiveBounds(int row, int col, Shape shape) {
-
-		Shape[] bounds = shape.getBounds();
-
-		int[] rowOffset = { -1, -1, -1, 0, 1, 1, 1, 0 };
-		int[] colOffset = { -1, 0, 1, 1, 1, 0, -1, -1 };
-
-		for (int n = 0; n < Shape.BOUNDS_SIZE; n++) {
-
-			Shape comp;
-
-			int tempRow = row + rowOffset[n];
-			int tempCol = col + colOffset[n];
-			if (this.validateIndex(tempRow) && this.validateIndex(tempCol)) {
-				comp = this.shapes[tempRow][tempCol];
-				if (comp != null) {
-					bounds[n] = comp;
-					comp.getBounds()[this.oppositeN(n)] = shape;
-				}
-			}
-
+	private void place(int row, int col, ShapeTag tag) {
+		this.board.set(row, col, tag);
+		if (this.segments != null) {
+			this.last_Segment = this.segments.place(row, col, tag);
+		}
+		this.last_Row = row;
+		this.last_Col = col;
+		this.addMove(row, col, tag);
+		if (this.raster != null) {
+			this.raster.update(this.viewport, row, col, tag);
 		}
-
 	}
 
 }
@@ -27,6 +27,36 @@ public class HUD {
 
 	private static final Color RESET_COLOR = Color.BLACK;
 
+	/**
+	 * x coordinate of the left edge of the area this HUD is drawn in
+	 */
+	private static final int LEFT = 3 * Game.WIDTH / 4;
+
+	/**
+	 * y coordinate of the top edge of the area this HUD is drawn in
+	 */
+	private static final int TOP = Game.HEIGHT / 2 - 15;
+
+	/**
+	 * Width of the area this HUD is drawn in
+	 */
+	private static final int AREA_WIDTH = 220;
+
+	/**
+	 * Height of the area this HUD is drawn in
+	 */
+	private static final int AREA_HEIGHT = 90;
+
+	/**
+	 * Active player line for player X, built once
+	 */
+	private static final String ACTIVE_X = "Active Player: X";
+
+	/**
+	 * Active player line for player O, built once
+	 */
+	private static final String ACTIVE_O = "Active Player: O";
+
 	/**
 	 * Player X
 	 */
@@ -76,6 +106,43 @@ public class HUD {
 	 */
 	private String active;
 
+	/**
+	 * Cached wins line for player X, rebuilt only when the score changes so that
+	 * drawing this HUD after a move allocates nothing
+	 */
+	private String p1_Line;
+
+	/**
+	 * Score of player X that {@code p1_Line} was built for
+	 */
+	private int p1_Line_Wins = -1;
+
+	/**
+	 * Cached wins line for player O
+	 */
+	private String p2_Line;
+
+	/**
+	 * Score of player O that {@code p2_Line} was built for
+	 */
+	private int p2_Line_Wins = -1;
+
+	/**
+	 * Cached number needed to win line
+	 */
+	private String match_Line;
+
+	/**
+	 * {@code Constants.NUM_TO_MATCH} that {@code match_Line} was built for
+	 */
+	private int match_Line_Num = -1;
+
+	/**
+	 * Search speed of the last move chosen by the computer, empty while it has
+	 * chosen none
+	 */
+	private String stats_Line = "";
+
 	/**
 	 * Constructs this HUD
 	 * 
@@ -106,21 +173,57 @@ public class HUD {
 	}
 
 	/**
-	 * Draws this HUD to the JFrame
+	 * Changes the search speed line shown under the scores
+	 * 
+	 * @param stats search speed of the last move chosen by the computer
+	 */
+	public void changeStats(String stats) {
+		this.stats_Line = stats;
+	}
+
+	/**
+	 * Requests a repaint of the area this HUD is drawn in
+	 * 
+	 * @param game Game this HUD is drawn on
+	 */
+	public void repaint(Game game) {
+		game.requestRepaint(HUD.LEFT, HUD.TOP, HUD.AREA_WIDTH, HUD.AREA_HEIGHT);
+	}
+
+	/**
+	 * Draws this HUD to the JFrame, if its area is inside the clip of g
 	 * 
 	 * @param g {@code Graphics} component to use to draw to the JFrame
 	 */
 	public void draw(Graphics g) {
 
+		if (!g.hitClip(HUD.LEFT, HUD.TOP, HUD.AREA_WIDTH, HUD.AREA_HEIGHT)) {
+			return;
+		}
+
 		g.setColor(HUD.RESET_COLOR);
 
-		g.fillRect(3 * Game.WIDTH / 4, Game.HEIGHT / 2 - 15, 150, 75);
+		g.fillRect(HUD.LEFT, HUD.TOP, HUD.AREA_WIDTH, HUD.AREA_HEIGHT);
+
+		if (this.p1_Line_Wins != this.p1.getWins()) {
+			this.p1_Line_Wins = this.p1.getWins();
+			this.p1_Line = "Player X Wins: " + this.p1_Line_Wins;
+		}
+		if (this.p2_Line_Wins != this.p2.getWins()) {
+			this.p2_Line_Wins = this.p2.getWins();
+			this.p2_Line = "Player O Wins: " + this.p2_Line_Wins;
+		}
+		if (this.match_Line_Num != Constants.NUM_TO_MATCH) {
+			this.match_Line_Num = Constants.NUM_TO_MATCH;
+			this.match_Line = "Number needed to win: " + (this.match_Line_Num + 1);
+		}
 
 		g.setColor(HUD.COLOR);
-		g.drawString("Active Player: " + this.active, 3 * Game.WIDTH / 4, Game.HEIGHT / 2);
-		g.drawString("Player X Wins: " + this.p1.getWins(), 3 * Game.WIDTH / 4, Game.HEIGHT / 2 + 15);
-		g.drawString("Player O Wins: " + this.p2.getWins(), 3 * Game.WIDTH / 4, Game.HEIGHT / 2 + 30);
-		g.drawString("Number needed to win: " + (Constants.NUM_TO_MATCH + 1), 3 * Game.WIDTH / 4, Game.HEIGHT / 2 + 45);
+		g.drawString("O".equals(this.active) ? HUD.ACTIVE_O : HUD.ACTIVE_X, HUD.LEFT, Game.HEIGHT / 2);
+		g.drawString(this.p1_Line, HUD.LEFT, Game.HEIGHT / 2 + 15);
+		g.drawString(this.p2_Line, HUD.LEFT, Game.HEIGHT / 2 + 30);
+		g.drawString(this.match_Line, HUD.LEFT, Game.HEIGHT / 2 + 45);
+		g.drawString(this.stats_Line, HUD.LEFT, Game.HEIGHT / 2 + 60);
 	}
 
 }
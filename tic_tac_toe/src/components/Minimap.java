@@ -0,0 +1,283 @@
+package components;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import main.Game;
+import shapes.ShapeTag;
+
+/**
+ * Overview of a board drawn next to the {@code HUD}, one block of pixels
+ * per square region of cells, colored by which kind of {@code Shape} holds the
+ * most cells of the region
+ * <p>
+ * The number of each kind of {@code Shape} per region is counted as Shapes are
+ * placed and removed, and only the block of the region that changed is
+ * written, so keeping the overview up to date costs the same for every move on
+ * any size of board. The part of the board in view is outlined on top
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+final class Minimap {
+
+	/**
+	 * Largest width and height of a Minimap, in pixels
+	 */
+	static final int SIZE = 150;
+
+	/**
+	 * x coordinate of the left edge of a Minimap, lined up with the {@code HUD}
+	 */
+	static final int LEFT = 3 * Game.WIDTH / 4;
+
+	/**
+	 * y coordinate of the top edge of a Minimap, just above the {@code HUD}
+	 */
+	static final int TOP = Game.HEIGHT / 2 - 30 - Minimap.SIZE;
+
+	/**
+	 * RGB value of a region holding no {@code Shape}
+	 */
+	private static final int EMPTY = 0x202020;
+
+	/**
+	 * RGB value of a region holding as many of each kind of {@code Shape}
+	 */
+	private static final int CONTESTED = 0xFFFFFF;
+
+	/**
+	 * {@code Color} of the outline of the part of the board in view
+	 */
+	private static final Color VIEW_COLOR = Color.YELLOW;
+
+	/**
+	 * Overview pixels, {@code regions * block} a side
+	 */
+	private final BufferedImage image;
+
+	/**
+	 * Pixels of {@code image}, row by row
+	 */
+	private final int[] pixels;
+
+	/**
+	 * RGB value of a region mostly holding each kind of {@code Shape}, by
+	 * {@code ShapeTag.ordinal()}
+	 */
+	private final int[] colors;
+
+	/**
+	 * First board row and column covered
+	 */
+	private final int first;
+
+	/**
+	 * Number of board rows and columns covered
+	 */
+	private final int span;
+
+	/**
+	 * Number of rows and columns of cells in a region
+	 */
+	private final int region_Cells;
+
+	/**
+	 * Number of regions along each side
+	 */
+	private final int regions;
+
+	/**
+	 * Width and height of the block of pixels of a region
+	 */
+	private final int block;
+
+	/**
+	 * Number of {@code Shape} objects per region and kind, at
+	 * {@code ShapeTag.ordinal() * regions * regions + region}
+	 */
+	private final int[] counts;
+
+	/**
+	 * Constructs an empty Minimap
+	 *
+	 * @param first  first board row and column to cover
+	 * @param span   number of board rows and columns to cover
+	 * @param colors RGB value of a region mostly holding each kind of
+	 *               {@code Shape}, by {@code ShapeTag.ordinal()}
+	 */
+	Minimap(int first, int span, int[] colors) {
+		this.first = first;
+		this.span = span;
+		this.colors = colors;
+		this.region_Cells = (span + Minimap.SIZE - 1) / Minimap.SIZE;
+		this.regions = (span + this.region_Cells - 1) / this.region_Cells;
+		this.block = Minimap.SIZE / this.regions;
+		this.counts = new int[colors.length * this.regions * this.regions];
+
+		int width = this.regions * this.block;
+		this.image = new BufferedImage(width, width, BufferedImage.TYPE_INT_RGB);
+		this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+		Arrays.fill(this.pixels, Minimap.EMPTY);
+	}
+
+	/**
+	 * Counts a {@code Shape} placed on the board
+	 *
+	 * @param row board row of the cell
+	 * @param col board column of the cell
+	 * @param tag {@code ShapeTag} placed
+	 */
+	void place(int row, int col, ShapeTag tag) {
+		this.add(row, col, tag, 1);
+	}
+
+	/**
+	 * Forgets a {@code Shape} removed from the board
+	 *
+	 * @param row board row of the cell
+	 * @param col board column of the cell
+	 * @param tag {@code ShapeTag} removed
+	 */
+	void remove(int row, int col, ShapeTag tag) {
+		this.add(row, col, tag, -1);
+	}
+
+	/**
+	 * Draws this Minimap, and the outline of the part of the board in view, if
+	 * it is inside the clip of g
+	 *
+	 * @param g        {@code Graphics} component to use to draw to the JFrame
+	 * @param viewport view of the board
+	 */
+	void draw(Graphics g, Viewport viewport) {
+		int width = this.image.getWidth();
+		if (!g.hitClip(Minimap.LEFT, Minimap.TOP, width, width)) {
+			return;
+		}
+
+		g.drawImage(this.image, Minimap.LEFT, Minimap.TOP, null);
+
+		int left = this.toPixel(viewport.getFirstCol());
+		int top = this.toPixel(viewport.getFirstRow());
+		int right = this.toPixel(viewport.getLastCol() + 1);
+		int bottom = this.toPixel(viewport.getLastRow() + 1);
+		g.setColor(Minimap.VIEW_COLOR);
+		g.drawRect(Minimap.LEFT + left, Minimap.TOP + top, Math.max(1, right - left - 1),
+				Math.max(1, bottom - top - 1));
+	}
+
+	/**
+	 * Determines if a point lies on this Minimap
+	 *
+	 * @param x x coordinate of the point
+	 * @param y y coordinate of the point
+	 * @return true if the point is on this Minimap
+	 */
+	boolean contains(int x, int y) {
+		int width = this.image.getWidth();
+		return x >= Minimap.LEFT && y >= Minimap.TOP && x < Minimap.LEFT + width && y < Minimap.TOP + width;
+	}
+
+	/**
+	 * Board column shown at an x coordinate of this Minimap
+	 *
+	 * @param x x coordinate on this Minimap
+	 * @return board column
+	 */
+	int colAt(int x) {
+		return this.toCell(x - Minimap.LEFT);
+	}
+
+	/**
+	 * Board row shown at a y coordinate of this Minimap
+	 *
+	 * @param y y coordinate on this Minimap
+	 * @return board row
+	 */
+	int rowAt(int y) {
+		return this.toCell(y - Minimap.TOP);
+	}
+
+	/**
+	 * Requests a repaint of this Minimap
+	 *
+	 * @param game Game this Minimap is drawn on
+	 */
+	void repaint(Game game) {
+		game.requestRepaint(Minimap.LEFT, Minimap.TOP, this.image.getWidth(), this.image.getWidth());
+	}
+
+	/**
+	 * Changes the count of one kind of {@code Shape} in the region of a cell, and
+	 * colors the block of the region again
+	 *
+	 * @param row   board row of the cell
+	 * @param col   board column of the cell
+	 * @param tag   {@code ShapeTag} of the cell
+	 * @param delta change of the count
+	 */
+	private void add(int row, int col, ShapeTag tag, int delta) {
+		row -= this.first;
+		col -= this.first;
+		if (row < 0 || col < 0 || row >= this.span || col >= this.span) {
+			return;
+		}
+
+		int regionRow = row / this.region_Cells;
+		int regionCol = col / this.region_Cells;
+		int region = regionRow * this.regions + regionCol;
+		int area = this.regions * this.regions;
+		this.counts[tag.ordinal() * area + region] += delta;
+
+		int best = -1;
+		int most = 0;
+		boolean tied = false;
+		for (int ordinal = 0; ordinal < this.colors.length; ordinal++) {
+			int count = this.counts[ordinal * area + region];
+			if (count > most) {
+				best = ordinal;
+				most = count;
+				tied = false;
+			} else if (count == most && count > 0) {
+				tied = true;
+			}
+		}
+		int rgb = best < 0 ? Minimap.EMPTY : tied ? Minimap.CONTESTED : this.colors[best];
+
+		int width = this.image.getWidth();
+		int x = regionCol * this.block;
+		int y = regionRow * this.block;
+		for (int line = y; line < y + this.block; line++) {
+			Arrays.fill(this.pixels, line * width + x, line * width + x + this.block, rgb);
+		}
+	}
+
+	/**
+	 * Pixel of this Minimap at which a board row or column starts
+	 *
+	 * @param cell board row or column
+	 * @return pixel offset from the edge of this Minimap, clamped to it
+	 */
+	private int toPixel(int cell) {
+		long offset = (long) (cell - this.first) * this.block / this.region_Cells;
+		return (int) Math.max(0, Math.min(this.image.getWidth(), offset));
+	}
+
+	/**
+	 * Board row or column at a pixel of this Minimap
+	 *
+	 * @param pixel pixel offset from the edge of this Minimap
+	 * @return board row or column, in the middle of the pixels of its region
+	 */
+	private int toCell(int pixel) {
+		return this.first + Math.min(this.span - 1, pixel * this.region_Cells / this.block + this.region_Cells / 2);
+	}
+
+}
@@ -2,6 +2,7 @@ package components;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import ai.Engine;
 import shapes.ShapeTag;
 
 /**
@@ -39,6 +40,12 @@ public class Player {
 	 */
 	private int wins;
 
+	/**
+	 * {@code Engine} choosing the moves of this Player when it is played by the
+	 * computer, {@code null} when it is played by a person
+	 */
+	private Engine engine;
+
 	/**
 	 * Constructs the player
 	 * 
@@ -72,6 +79,27 @@ public class Player {
 		return this.wins;
 	}
 
+	/**
+	 * Access to the {@code Engine} choosing the moves of this Player
+	 * 
+	 * @return {@code Engine} of this Player, {@code null} if a person plays it
+	 */
+	@JsonIgnore
+	public Engine getEngine() {
+		return this.engine;
+	}
+
+	/**
+	 * Hands the moves of this Player to the computer, or back to a person
+	 * 
+	 * @param engine {@code Engine} to choose the moves of this Player,
+	 *               {@code null} for a person
+	 */
+	@JsonIgnore
+	public void setEngine(Engine engine) {
+		this.engine = engine;
+	}
+
 	/**
 	 * Increments the number of wins this Player has by 1
 	 */
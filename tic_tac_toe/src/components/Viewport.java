@@ -0,0 +1,315 @@
+package components;
+
+import main.Game;
+
+/**
+ * Zoomable, pannable window onto a square board, mapping board cells to pixels
+ * of the square area a {@code Grid} is drawn in
+ * <p>
+ * Positions are tracked in board pixels: column c covers board pixels c *
+ * {@code box_Width} up to (c + 1) * {@code box_Width}, and the left edge of the
+ * area shows board pixel {@code origin_X}. Coordinates passed in and returned
+ * are relative to the upper left corner of the area
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public class Viewport {
+
+	/**
+	 * Width and height of the area a {@code Grid} is drawn in, in pixels
+	 */
+	public static final int AREA = 3 * Game.HEIGHT / 4;
+
+	/**
+	 * Largest width of a box, at which 3 boxes fill the area
+	 */
+	public static final int MAX_BOX_WIDTH = Viewport.AREA / 3;
+
+	/**
+	 * Width of a box is multiplied by this over {@code ZOOM_DIVISOR} per step of
+	 * zooming in, and divided by it per step of zooming out
+	 */
+	private static final int ZOOM_FACTOR = 5;
+
+	/**
+	 * Divisor paired with {@code ZOOM_FACTOR}
+	 */
+	private static final int ZOOM_DIVISOR = 4;
+
+	/**
+	 * Number of rows and columns of the board
+	 */
+	private final int size;
+
+	/**
+	 * Width and height of a box, in pixels
+	 */
+	private int box_Width;
+
+	/**
+	 * Board pixel shown at the left edge of the area
+	 */
+	private int origin_X;
+
+	/**
+	 * Board pixel shown at the top edge of the area
+	 */
+	private int origin_Y;
+
+	/**
+	 * Constructs a Viewport showing the upper left corner of the board
+	 *
+	 * @param size  number of rows and columns of the board
+	 * @param cells number of rows and columns to fit into the area
+	 */
+	public Viewport(int size, int cells) {
+		this.size = size;
+		this.box_Width = this.clampBox_Width(Viewport.AREA / Math.max(1, cells));
+	}
+
+	/**
+	 * Getter for the width and height of a box, in pixels
+	 *
+	 * @return width of a box
+	 */
+	public int getBox_Width() {
+		return this.box_Width;
+	}
+
+	/**
+	 * Setter for the width and height of a box, keeping the same box in the upper
+	 * left corner of the area
+	 *
+	 * @param box_Width new width of a box, clamped to the zoom range
+	 */
+	public void setBox_Width(int box_Width) {
+		int row = this.getFirstRow();
+		int col = this.getFirstCol();
+		this.box_Width = this.clampBox_Width(box_Width);
+		this.scrollTo(row, col);
+	}
+
+	/**
+	 * x coordinate of the left edge of a column
+	 *
+	 * @param col board column
+	 * @return x coordinate relative to the area
+	 */
+	public int left(int col) {
+		return (int) ((long) col * this.box_Width - this.origin_X);
+	}
+
+	/**
+	 * y coordinate of the top edge of a row
+	 *
+	 * @param row board row
+	 * @return y coordinate relative to the area
+	 */
+	public int top(int row) {
+		return (int) ((long) row * this.box_Width - this.origin_Y);
+	}
+
+	/**
+	 * Column shown at an x coordinate
+	 *
+	 * @param x x coordinate relative to the area, not negative
+	 * @return board column, which may lie past the board
+	 */
+	public int colAt(int x) {
+		return (int) (((long) x + this.origin_X) / this.box_Width);
+	}
+
+	/**
+	 * Row shown at a y coordinate
+	 *
+	 * @param y y coordinate relative to the area, not negative
+	 * @return board row, which may lie past the board
+	 */
+	public int rowAt(int y) {
+		return (int) (((long) y + this.origin_Y) / this.box_Width);
+	}
+
+	/**
+	 * Offset of an x coordinate from the left edge of the column shown there
+	 *
+	 * @param x x coordinate relative to the area, not negative
+	 * @return pixels into the box
+	 */
+	public int offsetX(int x) {
+		return (int) (((long) x + this.origin_X) % this.box_Width);
+	}
+
+	/**
+	 * Offset of a y coordinate from the top edge of the row shown there
+	 *
+	 * @param y y coordinate relative to the area, not negative
+	 * @return pixels into the box
+	 */
+	public int offsetY(int y) {
+		return (int) (((long) y + this.origin_Y) % this.box_Width);
+	}
+
+	/**
+	 * Getter for the first row at least partly in view
+	 *
+	 * @return top visible board row
+	 */
+	public int getFirstRow() {
+		return this.rowAt(0);
+	}
+
+	/**
+	 * Getter for the first column at least partly in view
+	 *
+	 * @return left visible board column
+	 */
+	public int getFirstCol() {
+		return this.colAt(0);
+	}
+
+	/**
+	 * Getter for the last row at least partly in view
+	 *
+	 * @return bottom visible board row
+	 */
+	public int getLastRow() {
+		return Math.min(this.size - 1, this.rowAt(Viewport.AREA - 1));
+	}
+
+	/**
+	 * Getter for the last column at least partly in view
+	 *
+	 * @return right visible board column
+	 */
+	public int getLastCol() {
+		return Math.min(this.size - 1, this.colAt(Viewport.AREA - 1));
+	}
+
+	/**
+	 * Getter for the width of the part of the area the board covers
+	 *
+	 * @return width in pixels, at most {@code AREA}
+	 */
+	public int getWidth() {
+		return (int) Math.min(Viewport.AREA, (long) this.size * this.box_Width - this.origin_X);
+	}
+
+	/**
+	 * Getter for the height of the part of the area the board covers
+	 *
+	 * @return height in pixels, at most {@code AREA}
+	 */
+	public int getHeight() {
+		return (int) Math.min(Viewport.AREA, (long) this.size * this.box_Width - this.origin_Y);
+	}
+
+	/**
+	 * Determines if a board cell is at least partly in view
+	 *
+	 * @param row board row of the cell
+	 * @param col board column of the cell
+	 * @return true if the cell is in view
+	 */
+	public boolean contains(int row, int col) {
+		return row >= this.getFirstRow() && col >= this.getFirstCol() && row <= this.getLastRow()
+				&& col <= this.getLastCol();
+	}
+
+	/**
+	 * Moves the view, keeping it on the board
+	 *
+	 * @param dx pixels to move the view right by
+	 * @param dy pixels to move the view down by
+	 * @return true if the view moved
+	 */
+	public boolean pan(int dx, int dy) {
+		int x = this.origin_X;
+		int y = this.origin_Y;
+		this.origin_X = this.clampOrigin((long) x + dx);
+		this.origin_Y = this.clampOrigin((long) y + dy);
+		return x != this.origin_X || y != this.origin_Y;
+	}
+
+	/**
+	 * Moves the view so that a cell is in its upper left corner, as far as the
+	 * board allows
+	 *
+	 * @param row board row
+	 * @param col board column
+	 */
+	public void scrollTo(int row, int col) {
+		this.origin_X = this.clampOrigin((long) col * this.box_Width);
+		this.origin_Y = this.clampOrigin((long) row * this.box_Width);
+	}
+
+	/**
+	 * Moves the view so that a cell is in its center, as far as the board allows
+	 *
+	 * @param row board row
+	 * @param col board column
+	 */
+	public void centerOn(int row, int col) {
+		long middle = (Viewport.AREA - this.box_Width) / 2;
+		this.origin_X = this.clampOrigin((long) col * this.box_Width - middle);
+		this.origin_Y = this.clampOrigin((long) row * this.box_Width - middle);
+	}
+
+	/**
+	 * Zooms in or out, keeping the board pixel under a point of the area in
+	 * place
+	 *
+	 * @param x     x coordinate of the point, relative to the area
+	 * @param y     y coordinate of the point, relative to the area
+	 * @param steps number of steps to zoom in by, negative to zoom out
+	 * @return true if the width of a box changed
+	 */
+	public boolean zoom(int x, int y, int steps) {
+		int width = this.box_Width;
+		for (int step = 0; step < Math.abs(steps); step++) {
+			width = steps > 0 ? Math.max(width + 1, width * Viewport.ZOOM_FACTOR / Viewport.ZOOM_DIVISOR)
+					: Math.min(width - 1, width * Viewport.ZOOM_DIVISOR / Viewport.ZOOM_FACTOR);
+		}
+		width = this.clampBox_Width(width);
+
+		if (width == this.box_Width) {
+			return false;
+		}
+
+		long originX = ((long) x + this.origin_X) * width / this.box_Width - x;
+		long originY = ((long) y + this.origin_Y) * width / this.box_Width - y;
+		// clamped to the board at the new width, not the old one
+		this.box_Width = width;
+		this.origin_X = this.clampOrigin(originX);
+		this.origin_Y = this.clampOrigin(originY);
+		return true;
+	}
+
+	/**
+	 * Keeps a box width between fitting the whole board into the area and
+	 * {@code MAX_BOX_WIDTH}
+	 *
+	 * @param box_Width width of a box
+	 * @return width in the zoom range
+	 */
+	private int clampBox_Width(int box_Width) {
+		int min = Math.max(1, Math.min(Viewport.MAX_BOX_WIDTH, Viewport.AREA / this.size));
+		return Math.max(min, Math.min(Viewport.MAX_BOX_WIDTH, box_Width));
+	}
+
+	/**
+	 * Keeps an origin between the start of the board and where its end meets the
+	 * end of the area, at the current {@code box_Width}
+	 *
+	 * @param origin board pixel at the edge of the area
+	 * @return origin on the board
+	 */
+	private int clampOrigin(long origin) {
+		long max = Math.max(0, (long) this.size * this.box_Width - Viewport.AREA);
+		return (int) Math.max(0, Math.min(max, origin));
+	}
+
+}
@@ -1,5 +1,9 @@
 package constants;
 
+import ai.EngineType;
+import board.BoardType;
+import shapes.ShapeTag;
+
 public class Constants {
 	
 
@@ -19,4 +23,41 @@ public class Constants {
 	 */
 	public static int GAME_SIZE = 3;
 
+	/**
+	 * Kind of {@code Board} backing the {@code Grid} of the Game
+	 */
+	public static BoardType BOARD_TYPE = BoardType.DENSE;
+
+	/**
+	 * Whether the Game draws itself from its own render loop onto a
+	 * {@code Canvas}, instead of from Swing repaints
+	 */
+	public static boolean ACTIVE_RENDERING = false;
+
+	/**
+	 * Most frames per second the render loop draws when
+	 * {@code ACTIVE_RENDERING} is on
+	 * 
+	 * @version 2.1 changed manually/internally, no UI set up to change it
+	 */
+	public static int FRAME_CAP = 60;
+
+	/**
+	 * {@code ShapeTag} of the {@code Player} played by the computer, {@code null}
+	 * when people play both
+	 */
+	public static ShapeTag COMPUTER_TAG = null;
+
+	/**
+	 * Kind of {@code Engine} choosing the moves of the computer
+	 */
+	public static EngineType ENGINE_TYPE = EngineType.ALPHA_BETA;
+
+	/**
+	 * Most time the computer takes to choose a move, in milliseconds
+	 * 
+	 * @version 2.1 changed manually/internally, no UI set up to change it
+	 */
+	public static int SEARCH_MILLIS = 1000;
+
 }
@@ -1,9 +1,12 @@
 package constants;
 
+import board.BoardType;
+
 public class ConstantsWrapper {
 	
 	private int size;
 	private int num;
+	private BoardType board;
 	
 	public int getSize() {
 		return size;
@@ -21,9 +24,18 @@ public class ConstantsWrapper {
 		this.num = num;
 	}
 
-	public ConstantsWrapper(int size, int num) {
+	public BoardType getBoard() {
+		return board;
+	}
+
+	public void setBoard(BoardType board) {
+		this.board = board;
+	}
+
+	public ConstantsWrapper(int size, int num, BoardType board) {
 		this.size = size;
 		this.num = num;
+		this.board = board;
 	}
 	
 	public ConstantsWrapper() {}
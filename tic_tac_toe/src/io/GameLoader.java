@@ -9,6 +9,7 @@ import javax.swing.JOptionPane;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import board.BoardType;
 import components.Grid;
 import components.Player;
 import constants.Constants;
@@ -43,8 +44,14 @@ public class GameLoader {
 
 			ConstantsWrapper cwrap = mapper.readValue(constantsFile, ConstantsWrapper.class);
 
+			BoardType type = cwrap.getBoard() != null ? cwrap.getBoard() : Constants.BOARD_TYPE;
+			if (!LoadScreen.fits(loader, type, cwrap.getSize())) {
+				return false;
+			}
+
 			Constants.GAME_SIZE = cwrap.getSize();
 			Constants.NUM_TO_MATCH = cwrap.getNum();
+			Constants.BOARD_TYPE = type;
 
 			Grid grid = mapper.readValue(gridFile, Grid.class);
 
@@ -38,7 +38,8 @@ public class GameSaver {
 			mapper.writeValue(pXFile, pX);
 			mapper.writeValue(pOFile, pO);
 			mapper.writeValue(activeFile, active);
-			mapper.writeValue(constantsFile, new ConstantsWrapper(Constants.GAME_SIZE, Constants.NUM_TO_MATCH));
+			mapper.writeValue(constantsFile, new ConstantsWrapper(Constants.GAME_SIZE, Constants.NUM_TO_MATCH,
+					Constants.BOARD_TYPE));
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
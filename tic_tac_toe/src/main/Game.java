@@ -1,19 +1,31 @@
 package main;
 
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
+import ai.Engine;
+import ai.SearchBoard;
 import components.Grid;
 import components.HUD;
 import components.Player;
@@ -57,6 +69,45 @@ public class Game extends JFrame {
 	 */
 	private Thread game_Thread;
 
+	/**
+	 * Game loop running on {@code game_Thread}
+	 */
+	private GameRunner game_Runner;
+
+	/**
+	 * x coordinate of the frame time line drawn in active rendering
+	 */
+	private static final int STATS_X = 10;
+
+	/**
+	 * y coordinate of the frame time line drawn in active rendering
+	 */
+	private static final int STATS_Y = Game.HEIGHT - 20;
+
+	/**
+	 * Nanoseconds between updates of the frame time line
+	 */
+	private static final long STATS_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * {@code Canvas} covering this Game in active rendering, {@code null}
+	 * otherwise
+	 */
+	private Canvas canvas;
+
+	/**
+	 * Render loop drawing onto {@code canvas} in active rendering, {@code null}
+	 * otherwise
+	 */
+	private ActiveRenderer active_Renderer;
+
+	/**
+	 * Held while the {@code Grid} and {@code HUD} are changed by input and while
+	 * the render loop draws them, so that every frame shows the state between two
+	 * inputs rather than halfway through one
+	 */
+	private final Object state_Lock = new Object();
+
 	/**
 	 * Grid that contains runtime game components
 	 */
@@ -78,15 +129,42 @@ public class Game extends JFrame {
 	private Player active_Player;
 
 	/**
-	 * Field representing if the state if the JFrame has been changed
+	 * Maximum number of rectangles waiting to be repainted before new ones are
+	 * merged into the last one
+	 */
+	private static final int MAX_DIRTY = 32;
+
+	/**
+	 * Rectangles waiting to be repainted, as x, y, width, height quadruples
 	 * <p>
 	 * Used to optimize render time and overall performance
 	 * <p>
-	 * In this case, the JFrame will not have to re-draw every time it refreshes
-	 * <p>
-	 * Only if it is changed
+	 * In this case, the JFrame will only re-draw the pixels a change touched,
+	 * rather than the whole frame every time it refreshes. Also the lock for
+	 * {@code dirty_Count} and {@code dirty_Posted}
 	 */
-	private boolean state_Changed;
+	private final int[] dirty_Rects = new int[4 * Game.MAX_DIRTY];
+
+	/**
+	 * Number of rectangles in {@code dirty_Rects}
+	 */
+	private int dirty_Count;
+
+	/**
+	 * Number of rectangles in {@code dirty_Rects} already passed to repaint()
+	 */
+	private int dirty_Posted;
+
+	/**
+	 * Copy of {@code dirty_Rects} taken by paint(), so that drawing happens
+	 * without holding the lock
+	 */
+	private final int[] paint_Rects = new int[4 * Game.MAX_DIRTY];
+
+	/**
+	 * Clip of the Graphics passed to paint(), reused by every paint
+	 */
+	private final Rectangle paint_Clip = new Rectangle();
 
 	/**
 	 * HUD object for this Game
@@ -94,19 +172,32 @@ public class Game extends JFrame {
 	private HUD hud;
 
 	/**
-	 * Internal flag for the state of the game being a won state
+	 * Milliseconds the result of a round is shown for before the {@code Grid} is
+	 * cleared
 	 */
-	private boolean state_Won;
+	private static final int ROUND_END_DELAY = 1000;
 
 	/**
-	 * Internal flag for if the state of the game being initialized
+	 * Fires once on the Event Dispatch Thread to clear the {@code Grid} after a
+	 * round was won, filled or drawn
+	 * <p>
+	 * Running while the result of a round is shown; Shapes cannot be placed in
+	 * the meantime, but the view can still be panned and zoomed
 	 */
-	private boolean state_Init;
+	private final Timer round_Timer = new Timer(Game.ROUND_END_DELAY, e -> this.endRound());
+
+	/**
+	 * Internal flag for the computer choosing a move on a thread of its own,
+	 * only used on the Event Dispatch Thread
+	 */
+	private boolean computer_Thinking;
 
 	/**
 	 * Inner class that can be used on a game thread
 	 * <p>
-	 * Contains the Game loop
+	 * Contains the Game loop, which sleeps until a repaint is requested instead of
+	 * repainting on a timer, passes the requested rectangles on to repaint(), and
+	 * ends once the Game is disposed
 	 * 
 	 * @author Samuel Brenner
 	 *
@@ -114,9 +205,32 @@ public class Game extends JFrame {
 	private class GameRunner implements Runnable {
 
 		/**
-		 * Sleep time for proper rendering and visualization of the Game
+		 * Field representing if a repaint has been requested and not yet scheduled
+		 */
+		private boolean requested;
+
+		/**
+		 * Field representing if the game loop should keep running
 		 */
-		private static final int REFRESH_TIME = 1;
+		private boolean running = true;
+
+		/**
+		 * Wakes the game loop up to schedule a repaint
+		 * <p>
+		 * Requests made before the previous one was scheduled are merged into it
+		 */
+		private synchronized void request() {
+			this.requested = true;
+			this.notifyAll();
+		}
+
+		/**
+		 * Ends the game loop
+		 */
+		private synchronized void stop() {
+			this.running = false;
+			this.notifyAll();
+		}
 
 		/**
 		 * Method that runs the game loop on the thread
@@ -125,14 +239,210 @@ public class Game extends JFrame {
 		public void run() {
 
 			while (true) {
-				try {
-					Game.this.repaint();
-					Thread.sleep(GameRunner.REFRESH_TIME);
-				} catch (InterruptedException e) {
-					e.printStackTrace();
+				synchronized (this) {
+					while (this.running && !this.requested) {
+						try {
+							this.wait();
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+					if (!this.running) {
+						return;
+					}
+					this.requested = false;
+				}
+				Game.this.postRepaints();
+			}
+
+		}
+	}
+
+	/**
+	 * Inner class that can be used on a render thread in active rendering
+	 * <p>
+	 * Draws whole frames into the back buffer of a {@code BufferStrategy} and
+	 * shows them, at most {@code Constants.FRAME_CAP} times a second and only
+	 * once something asked for a frame. Keeps the time each frame took to draw,
+	 * shown in the lower left corner of this Game once a second
+	 * 
+	 * @author Samuel Brenner
+	 *
+	 */
+	private class ActiveRenderer implements Runnable {
+
+		/**
+		 * Buffers of {@code Game.this.canvas}
+		 */
+		private final BufferStrategy strategy;
+
+		/**
+		 * Shortest time between the start of two frames, in nanoseconds
+		 */
+		private final long frame_Nanos;
+
+		/**
+		 * Field representing if a frame has been requested and not yet drawn
+		 */
+		private boolean requested = true;
+
+		/**
+		 * Field representing if the render loop should keep running
+		 */
+		private boolean running = true;
+
+		/**
+		 * Number of frames drawn since {@code stats_Start}
+		 */
+		private int frames;
+
+		/**
+		 * Number of frames since {@code stats_Start} that took longer than
+		 * {@code frame_Nanos}
+		 */
+		private int late_Frames;
+
+		/**
+		 * Total time the frames since {@code stats_Start} took, in nanoseconds
+		 */
+		private long total_Nanos;
+
+		/**
+		 * Longest time a frame since {@code stats_Start} took, in nanoseconds
+		 */
+		private long worst_Nanos;
+
+		/**
+		 * Start of the current frame time period
+		 */
+		private long stats_Start;
+
+		/**
+		 * Frame times of the last complete period, rebuilt once a period
+		 */
+		private String stats_Line = "";
+
+		/**
+		 * Constructs the render loop
+		 * 
+		 * @param strategy buffers to draw into
+		 */
+		private ActiveRenderer(BufferStrategy strategy) {
+			this.strategy = strategy;
+			this.frame_Nanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, Constants.FRAME_CAP);
+		}
+
+		/**
+		 * Wakes the render loop up to draw a frame
+		 * <p>
+		 * Requests made before the next frame is drawn are merged into it
+		 */
+		private synchronized void request() {
+			this.requested = true;
+			this.notifyAll();
+		}
+
+		/**
+		 * Ends the render loop
+		 */
+		private synchronized void stop() {
+			this.running = false;
+			this.notifyAll();
+		}
+
+		/**
+		 * Method that runs the render loop on the thread
+		 */
+		@Override
+		public void run() {
+			long next = System.nanoTime();
+			this.stats_Start = next;
+
+			while (true) {
+				synchronized (this) {
+					while (this.running && !this.requested) {
+						try {
+							this.wait();
+						} catch (InterruptedException e) {
+							return;
+						}
+					}
+					if (!this.running) {
+						return;
+					}
 				}
+
+				// hold the frame back until its slot, merging requests made meanwhile
+				long wait = next - System.nanoTime();
+				if (wait > 0) {
+					try {
+						TimeUnit.NANOSECONDS.sleep(wait);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+
+				synchronized (this) {
+					this.requested = false;
+				}
+
+				long start = System.nanoTime();
+				this.render();
+				long end = System.nanoTime();
+
+				next = start + this.frame_Nanos;
+				this.account(end - start, end);
 			}
+		}
 
+		/**
+		 * Draws a frame and shows it, drawing it again for as long as the buffers
+		 * lose their contents on the way
+		 */
+		private void render() {
+			do {
+				do {
+					Graphics g = this.strategy.getDrawGraphics();
+					try {
+						Game.this.renderFrame(g);
+						g.setColor(Color.GRAY);
+						g.drawString(this.stats_Line, Game.STATS_X, Game.STATS_Y);
+					} finally {
+						g.dispose();
+					}
+				} while (this.strategy.contentsRestored());
+				this.strategy.show();
+			} while (this.strategy.contentsLost());
+			Toolkit.getDefaultToolkit().sync();
+		}
+
+		/**
+		 * Adds the time a frame took to the current period, and starts a new period
+		 * once the current one is over
+		 * 
+		 * @param nanos time the frame took, in nanoseconds
+		 * @param now   time the frame ended
+		 */
+		private void account(long nanos, long now) {
+			this.frames++;
+			this.total_Nanos += nanos;
+			this.worst_Nanos = Math.max(this.worst_Nanos, nanos);
+			if (nanos > this.frame_Nanos) {
+				this.late_Frames++;
+			}
+
+			if (now - this.stats_Start < Game.STATS_PERIOD) {
+				return;
+			}
+
+			this.stats_Line = String.format(Locale.ROOT, "%d frames, %.2f ms avg, %.2f ms worst, %d late (cap %d fps)",
+					this.frames, this.total_Nanos / 1e6 / this.frames, this.worst_Nanos / 1e6, this.late_Frames,
+					Constants.FRAME_CAP);
+			this.frames = 0;
+			this.late_Frames = 0;
+			this.total_Nanos = 0;
+			this.worst_Nanos = 0;
+			this.stats_Start = now;
 		}
 	}
 
@@ -154,6 +464,16 @@ public class Game extends JFrame {
 		 */
 		private boolean mouse_Moved;
 
+		/**
+		 * x coordinate of the mouse when it was last pressed or dragged
+		 */
+		private int last_X;
+
+		/**
+		 * y coordinate of the mouse when it was last pressed or dragged
+		 */
+		private int last_Y;
+
 		/**
 		 * Default constructor
 		 */
@@ -167,13 +487,21 @@ public class Game extends JFrame {
 		}
 
 		/**
-		 * Sets {@code mouse_Moved} value to true
+		 * Pans the view of the {@code Grid} along with the mouse, instead of placing
+		 * a Shape when the mouse is released
 		 * 
 		 * @param e MouseEvent object
 		 */
 		@Override
 		public void mouseDragged(MouseEvent e) {
-			this.mouse_Pressed = false;
+			synchronized (Game.this.state_Lock) {
+				this.mouse_Pressed = false;
+				if (Game.this.game_Grid.drag(this.last_X - Game.this.frameX(e), this.last_Y - Game.this.frameY(e))) {
+					Game.this.game_Grid.repaintAll(Game.this);
+				}
+				this.last_X = Game.this.frameX(e);
+				this.last_Y = Game.this.frameY(e);
+			}
 		}
 
 		/**
@@ -184,65 +512,62 @@ public class Game extends JFrame {
 		@Override
 		public void mousePressed(MouseEvent e) {
 			this.mouse_Pressed = true;
+			this.last_X = Game.this.frameX(e);
+			this.last_Y = Game.this.frameY(e);
 		}
 
 		/**
-		 * Adds Shape object, respective to {@code Game.this.active_Player}
+		 * Zooms the view of the {@code Grid} in or out around the mouse, a step per
+		 * notch of the wheel
+		 * 
+		 * @param e MouseWheelEvent object
+		 */
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent e) {
+			synchronized (Game.this.state_Lock) {
+				if (Game.this.game_Grid.zoom(Game.this.frameX(e), Game.this.frameY(e), -e.getWheelRotation())) {
+					Game.this.game_Grid.repaintAll(Game.this);
+				}
+			}
+		}
+
+		/**
+		 * Adds Shape object, respective to {@code Game.this.active_Player}, or
+		 * recenters the view on the part of the board clicked on the minimap
+		 * <p>
+		 * A move that ends the round shows its result until {@code round_Timer}
+		 * fires, and clicks made before then, or while the computer is to move, are
+		 * ignored rather than queued
 		 * 
 		 * @param e MouseEvent object
 		 */
 		@Override
 		public void mouseReleased(MouseEvent e) {
-			if (this.mouse_Pressed && this.mouse_Moved) {
-				this.mouse_Moved = false;
-				this.mouse_Pressed = false;
-			} else if (this.mouse_Pressed && !this.mouse_Moved) {
-
-				if (Game.this.game_Grid.isFilled()) {
-					try {
-						Thread.sleep(1000);
-					} catch (InterruptedException ex) {
-						ex.printStackTrace();
+			synchronized (Game.this.state_Lock) {
+				if (this.mouse_Pressed && this.mouse_Moved) {
+					this.mouse_Moved = false;
+					this.mouse_Pressed = false;
+				} else if (this.mouse_Pressed && !this.mouse_Moved) {
+
+					/*
+					 * Get x and y coordinates Deal with input
+					 */
+
+					int x = Game.this.frameX(e);
+					int y = Game.this.frameY(e);
+
+					if (Game.this.game_Grid.centerOnMinimap(x, y)) {
+						Game.this.game_Grid.repaintAll(Game.this);
+						return;
 					}
-					Game.this.game_Grid.clear();
-				}
-
-				/*
-				 * Get x and y coordinates Deal with input
-				 */
-
-				int x = e.getX();
-				int y = e.getY();
 
-				if (Game.this.game_Grid.placeShape(Game.this.active_Player.getShapeTypeAsTag(), x, y)) {
-					Game.this.state_Changed = true;
-					Game.this.active_Player = Game.this.active_Player == Game.this.pX ? Game.this.pO : Game.this.pX;
-					Game.this.hud.changeTag(Game.this.active_Player.getShapeTypeAsTag());
-					if (Game.this.name != null && !Game.this.name.endsWith("*")) {
-						Game.this.name += "*";
-						Game.this.setTitle(Game.this.name);
+					// the result of the round is still shown, or it is the computer's turn
+					if (Game.this.round_Timer.isRunning() || Game.this.active_Player.getEngine() != null) {
+						return;
 					}
-				}
-
-				if (Game.this.game_Grid.getFilledBoxes() >= 2 * Constants.NUM_TO_MATCH + 1) {
-					Object[] out = Game.this.game_Grid.checkWin();
-					if ((boolean) out[0]) {
-
-						Player winner = null;
-
-						if ((ShapeTag) out[1] == ShapeTag.SHAPE_O) {
-							winner = Game.this.pO;
-							winner.incrementWins();
-						} else {
-							winner = Game.this.pX;
-							winner.incrementWins();
-						}
 
-						Game.this.active_Player = winner;
-
-						Game.this.hud.changeTag(winner.getShapeTypeAsTag());
-
-						Game.this.state_Won = true;
+					if (Game.this.game_Grid.placeShape(Game.this.active_Player.getShapeTypeAsTag(), x, y)) {
+						Game.this.finishMove();
 					}
 				}
 			}
@@ -258,10 +583,6 @@ public class Game extends JFrame {
 	public Game() {
 		this.setTitle(this.name);
 
-		this.state_Changed = true;
-		this.state_Won = false;
-		this.state_Init = true;
-
 		this.game_Grid = new Grid((int) (0.1 * Game.WIDTH), (int) (0.1 * Game.HEIGHT));
 
 		this.pX = new Player(ShapeTag.SHAPE_X);
@@ -284,13 +605,20 @@ public class Game extends JFrame {
 		this.game_Grid = grid;
 		this.game_Grid.init();
 
+		Game.FROM_SAVE_STATE = false;
+
 		this.pX = pX;
 		this.pO = pO;
 		this.active_Player = active.getShapeTypeAsTag() == ShapeTag.SHAPE_O ? this.pO : this.pX;
 
 		this.hud = new HUD(this.pX, this.pO, this.active_Player.getShapeTypeAsTag());
 
-		this.state_Init = true;
+		// a save may have been made on a round that was already over; its win was
+		// counted before saving, and checkWin() scans the restored board for it
+		if (this.game_Grid.checkWin() != null || this.game_Grid.isFilled() || this.game_Grid.isDrawn()) {
+			this.round_Timer.setRepeats(false);
+			this.round_Timer.start();
+		}
 
 		this.init();
 	}
@@ -301,11 +629,79 @@ public class Game extends JFrame {
 	public void init() {
 		this.setSize(new Dimension(Game.WIDTH, Game.HEIGHT));
 
+		if (Constants.COMPUTER_TAG != null) {
+			Player computer = Constants.COMPUTER_TAG == ShapeTag.SHAPE_O ? this.pO : this.pX;
+			computer.setEngine(Constants.ENGINE_TYPE.create(Constants.SEARCH_MILLIS));
+		}
+
+		// in active rendering the mouse is over the canvas rather than this Game
+		Component input = this;
+		if (Constants.ACTIVE_RENDERING) {
+			this.canvas = new Canvas() {
+
+				/**
+				 * Inner class randomly generated serialVersionUID
+				 */
+				private static final long serialVersionUID = 3581126009714853146L;
+
+				/**
+				 * Asks the render loop for a frame instead of painting, as when part of
+				 * the canvas is exposed
+				 */
+				@Override
+				public void paint(Graphics g) {
+					Game.this.requestRepaint(0, 0, Game.WIDTH, Game.HEIGHT);
+				}
+
+				@Override
+				public void update(Graphics g) {
+					this.paint(g);
+				}
+
+			};
+			this.canvas.setFocusable(false);
+			this.add(this.canvas);
+			input = this.canvas;
+		}
+
 		UserMouseInput umi = new UserMouseInput();
-		this.addMouseListener(umi);
-		this.addMouseMotionListener(umi);
+		input.addMouseListener(umi);
+		input.addMouseMotionListener(umi);
+		input.addMouseWheelListener(umi);
 
 		this.addKeyListener(new KeyAdapter() {
+			/**
+			 * Pans the view with the arrow keys, a cell at a time or half a view at a
+			 * time while shift is held
+			 */
+			@Override
+			public void keyPressed(KeyEvent e) {
+				int step = e.isShiftDown() ? Math.max(1, Game.this.game_Grid.getVisible_Boxes() / 2) : 1;
+				int dRow = 0;
+				int dCol = 0;
+				switch (e.getKeyCode()) {
+				case KeyEvent.VK_UP:
+					dRow = -step;
+					break;
+				case KeyEvent.VK_DOWN:
+					dRow = step;
+					break;
+				case KeyEvent.VK_LEFT:
+					dCol = -step;
+					break;
+				case KeyEvent.VK_RIGHT:
+					dCol = step;
+					break;
+				default:
+					return;
+				}
+				synchronized (Game.this.state_Lock) {
+					if (Game.this.game_Grid.pan(dRow, dCol)) {
+						Game.this.game_Grid.repaintAll(Game.this);
+					}
+				}
+			}
+
 			@Override
 			public void keyReleased(KeyEvent e) {
 				if (e.getKeyCode() == KeyEvent.VK_S) {
@@ -345,38 +741,317 @@ public class Game extends JFrame {
 
 		});
 
+		this.round_Timer.setRepeats(false);
+
+		if (!Constants.ACTIVE_RENDERING) {
+			this.game_Runner = new GameRunner();
+			this.game_Thread = new Thread(this.game_Runner, "GameRunner");
+			this.game_Thread.setDaemon(true);
+			this.game_Thread.start();
+		}
+
 		this.setLocationRelativeTo(null);
 		this.setVisible(true);
 		this.setResizable(false);
 
-		this.game_Thread = new Thread(new GameRunner());
-		this.game_Thread.start();
+		if (Constants.ACTIVE_RENDERING) {
+			this.setIgnoreRepaint(true);
+			this.canvas.createBufferStrategy(2);
+			this.active_Renderer = new ActiveRenderer(this.canvas.getBufferStrategy());
+			this.game_Thread = new Thread(this.active_Renderer, "ActiveRenderer");
+			this.game_Thread.setDaemon(true);
+			this.game_Thread.start();
+		}
+
+		this.startComputerMove();
 	}
 
-	public void paint(Graphics g) {
-		if (this.state_Init) {
-			this.state_Init = false;
-			g.setColor(Color.BLACK);
-			g.fillRect(0, 0, Game.WIDTH, Game.HEIGHT);
+	/**
+	 * x coordinate of a mouse event relative to this Game, which is where the
+	 * {@code Grid} and {@code HUD} are laid out, wherever the event came from
+	 * 
+	 * @param e MouseEvent object
+	 * @return x coordinate relative to this Game
+	 */
+	private int frameX(MouseEvent e) {
+		int x = e.getX();
+		for (Component c = e.getComponent(); c != null && c != this; c = c.getParent()) {
+			x += c.getX();
+		}
+		return x;
+	}
+
+	/**
+	 * y coordinate of a mouse event relative to this Game
+	 * 
+	 * @param e MouseEvent object
+	 * @return y coordinate relative to this Game
+	 */
+	private int frameY(MouseEvent e) {
+		int y = e.getY();
+		for (Component c = e.getComponent(); c != null && c != this; c = c.getParent()) {
+			y += c.getY();
+		}
+		return y;
+	}
+
+	/**
+	 * Marks a rectangle of this Game as changed and asks the game loop to repaint
+	 * it
+	 * <p>
+	 * In active rendering every frame is drawn whole, so this only asks the render
+	 * loop for the next frame. Safe to call from any thread
+	 * 
+	 * @param x      x coordinate of the rectangle
+	 * @param y      y coordinate of the rectangle
+	 * @param width  width of the rectangle
+	 * @param height height of the rectangle
+	 */
+	public void requestRepaint(int x, int y, int width, int height) {
+		if (this.canvas != null) {
+			// the render loop starts out with a frame requested
+			if (this.active_Renderer != null) {
+				this.active_Renderer.request();
+			}
+			return;
+		}
+		synchronized (this.dirty_Rects) {
+			int at;
+			if (this.dirty_Count < Game.MAX_DIRTY) {
+				at = 4 * this.dirty_Count++;
+			} else {
+				// out of room, so grow the last rectangle to cover this one too
+				at = 4 * (Game.MAX_DIRTY - 1);
+				int right = Math.max(this.dirty_Rects[at] + this.dirty_Rects[at + 2], x + width);
+				int bottom = Math.max(this.dirty_Rects[at + 1] + this.dirty_Rects[at + 3], y + height);
+				x = Math.min(this.dirty_Rects[at], x);
+				y = Math.min(this.dirty_Rects[at + 1], y);
+				width = right - x;
+				height = bottom - y;
+				this.dirty_Posted = Math.min(this.dirty_Posted, Game.MAX_DIRTY - 1);
+			}
+			this.dirty_Rects[at] = x;
+			this.dirty_Rects[at + 1] = y;
+			this.dirty_Rects[at + 2] = width;
+			this.dirty_Rects[at + 3] = height;
+		}
+		this.game_Runner.request();
+	}
+
+	/**
+	 * Passes every requested rectangle not passed on yet to repaint()
+	 */
+	private void postRepaints() {
+		synchronized (this.dirty_Rects) {
+			for (int i = this.dirty_Posted; i < this.dirty_Count; i++) {
+				int at = 4 * i;
+				this.repaint(this.dirty_Rects[at], this.dirty_Rects[at + 1], this.dirty_Rects[at + 2],
+						this.dirty_Rects[at + 3]);
+			}
+			this.dirty_Posted = this.dirty_Count;
+		}
+	}
+
+	/**
+	 * Follows a {@code Shape} placed by {@code active_Player} up: hands the turn
+	 * to the other {@code Player}, checks for the end of the round, and starts
+	 * the computer on its move if it plays next
+	 */
+	private void finishMove() {
+		this.game_Grid.repaintLast(this);
+		this.hud.repaint(this);
+		this.active_Player = this.active_Player == this.pX ? this.pO : this.pX;
+		this.hud.changeTag(this.active_Player.getShapeTypeAsTag());
+		if (this.name != null && !this.name.endsWith("*")) {
+			this.name += "*";
+			this.setTitle(this.name);
+		}
+
+		if (this.game_Grid.getFilledBoxes() >= 2 * Constants.NUM_TO_MATCH + 1) {
+			ShapeTag winTag = this.game_Grid.checkWin();
+			if (winTag != null) {
+
+				Player winner = winTag == ShapeTag.SHAPE_O ? this.pO : this.pX;
+				winner.incrementWins();
+
+				this.active_Player = winner;
+
+				this.hud.changeTag(winner.getShapeTypeAsTag());
+
+				this.game_Grid.repaintWin(this);
+
+				this.round_Timer.start();
+			}
+		}
+
+		if (!this.round_Timer.isRunning() && (this.game_Grid.isFilled() || this.game_Grid.isDrawn())) {
+			this.round_Timer.start();
+		}
+
+		this.startComputerMove();
+	}
+
+	/**
+	 * Starts the computer choosing the move of {@code active_Player}, if it plays
+	 * it and the round is still going
+	 * <p>
+	 * The {@code Engine} searches a copy of the board on a thread of its own, so
+	 * the Game can still be drawn, panned and zoomed in the meantime. The move is
+	 * played on the Event Dispatch Thread once it is chosen
+	 */
+	private void startComputerMove() {
+		Player player = this.active_Player;
+		Engine engine = player.getEngine();
+		if (engine == null || this.computer_Thinking || this.round_Timer.isRunning()) {
+			return;
+		}
+
+		SearchBoard board = SearchBoard.of(this.game_Grid.getBoard_Size(), Constants.NUM_TO_MATCH + 1,
+				this.game_Grid.getCells_O(), this.game_Grid.getCells_X());
+		this.computer_Thinking = true;
+
+		Thread thread = new Thread(() -> {
+			int move = engine.chooseMove(board, player.getShapeTypeAsTag());
+			int cell = move < 0 ? -1 : board.toBoardCell(move);
+			SwingUtilities.invokeLater(() -> this.playComputerMove(player, cell));
+		}, "ComputerPlayer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Plays the move the computer chose, unless this Game was disposed of while
+	 * it was choosing
+	 * 
+	 * @param player {@code Player} the move was chosen for
+	 * @param cell   cell index of the board to place into, -1 if there was none
+	 */
+	private void playComputerMove(Player player, int cell) {
+		synchronized (this.state_Lock) {
+			this.computer_Thinking = false;
+			if (!this.isDisplayable() || player != this.active_Player) {
+				return;
+			}
+			if (this.game_Grid.placeShapeAt(player.getShapeTypeAsTag(), cell)) {
+				this.hud.changeStats(player.getEngine().getStats());
+				this.finishMove();
+			}
+		}
+	}
+
+	/**
+	 * Ends the round whose result was being shown, clearing the {@code Grid} for
+	 * the next one, which the computer opens if it won the last one
+	 */
+	private void endRound() {
+		synchronized (this.state_Lock) {
+			this.game_Grid.clear();
+			this.game_Grid.repaintAll(this);
+			this.startComputerMove();
+		}
+	}
+
+	/**
+	 * Draws a whole frame of this Game in active rendering, from the state
+	 * between two inputs
+	 * 
+	 * @param g {@code Graphics} of the back buffer of {@code canvas}
+	 */
+	private void renderFrame(Graphics g) {
+		// lay the frame out as on this Game, whose top left corner is above the canvas
+		int left = 0;
+		int top = 0;
+		for (Component c = this.canvas; c != this; c = c.getParent()) {
+			left += c.getX();
+			top += c.getY();
+		}
+		g.translate(-left, -top);
+
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, Game.WIDTH, Game.HEIGHT);
+		synchronized (this.state_Lock) {
 			this.game_Grid.draw(g);
 			this.hud.draw(g);
+			this.game_Grid.drawMinimap(g);
 		}
+	}
 
-		if (this.state_Changed) {
+	/**
+	 * Disposes of this Game, ending its game loop
+	 */
+	@Override
+	public void dispose() {
+		this.round_Timer.stop();
+		if (this.game_Runner != null) {
+			this.game_Runner.stop();
+		}
+		if (this.active_Renderer != null) {
+			this.active_Renderer.stop();
+		}
+		super.dispose();
+	}
+
+	/**
+	 * Paints the rectangles of this Game requested since it was last painted,
+	 * each clipped to itself
+	 * <p>
+	 * Several repaint() calls reach paint() as one clip covering all of them, so
+	 * drawing each requested rectangle on its own keeps a move from redrawing
+	 * everything between its box and the HUD. A clip reaching outside the
+	 * requested rectangles comes from part of the window being exposed, and is
+	 * redrawn in full
+	 * 
+	 * @param g {@code Graphics} component for this Game
+	 */
+	@Override
+	public void paint(Graphics g) {
+		// in active rendering the canvas covers this Game and the render loop draws
+		if (this.canvas != null) {
+			return;
+		}
+
+		Rectangle clip = this.paint_Clip;
+		clip.setBounds(0, 0, Game.WIDTH, Game.HEIGHT);
+		g.getClipBounds(clip);
+
+		int count;
+		synchronized (this.dirty_Rects) {
+			count = this.dirty_Count;
+			System.arraycopy(this.dirty_Rects, 0, this.paint_Rects, 0, 4 * count);
+			this.dirty_Count = 0;
+			this.dirty_Posted = 0;
+		}
+
+		int left = Integer.MAX_VALUE;
+		int top = Integer.MAX_VALUE;
+		int right = Integer.MIN_VALUE;
+		int bottom = Integer.MIN_VALUE;
+
+		for (int i = 0; i < count; i++) {
+			int x = this.paint_Rects[4 * i];
+			int y = this.paint_Rects[4 * i + 1];
+			int width = this.paint_Rects[4 * i + 2];
+			int height = this.paint_Rects[4 * i + 3];
+
+			g.setClip(x, y, width, height);
 			this.game_Grid.draw(g);
 			this.hud.draw(g);
-			this.state_Changed = false;
+			this.game_Grid.drawMinimap(g);
+
+			left = Math.min(left, x);
+			top = Math.min(top, y);
+			right = Math.max(right, x + width);
+			bottom = Math.max(bottom, y + height);
 		}
 
-		if (this.game_Grid.isFilled() || this.state_Won) {
-			try {
-				Thread.sleep(1000);
-			} catch (InterruptedException ex) {
-				ex.printStackTrace();
-			}
-			this.game_Grid.clear();
-			this.state_Won = false;
-			this.state_Changed = true;
+		g.setClip(clip.x, clip.y, clip.width, clip.height);
+
+		if (clip.x < left || clip.y < top || clip.x + clip.width > right || clip.y + clip.height > bottom) {
+			g.setColor(Color.BLACK);
+			g.fillRect(clip.x, clip.y, clip.width, clip.height);
+			this.game_Grid.draw(g);
+			this.hud.draw(g);
+			this.game_Grid.drawMinimap(g);
 		}
 	}
 
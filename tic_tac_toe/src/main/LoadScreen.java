@@ -1,7 +1,10 @@
 package main;
 
 import java.awt.Button;
+import java.awt.Checkbox;
+import java.awt.Choice;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.TextField;
@@ -15,8 +18,12 @@ import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
+import ai.EngineType;
+import board.BoardType;
+import components.Grid;
 import constants.Constants;
 import io.GameLoader;
+import shapes.ShapeTag;
 
 /**
  * 
@@ -45,7 +52,7 @@ public class LoadScreen extends JFrame {
 	/**
 	 * Height for this {@code LoadScreen}
 	 */
-	public static final int HEIGHT = 100;
+	public static final int HEIGHT = 220;
 
 	/**
 	 * {@code Button} used to send input information to main game
@@ -71,6 +78,30 @@ public class LoadScreen extends JFrame {
 
 	private Button load_Button;
 
+	/**
+	 * {@code Checkbox} for playing on an unbounded board, on which the size only
+	 * sets how many cells are in view at once
+	 */
+	private Checkbox unbounded_Box;
+
+	/**
+	 * {@code Checkbox} for drawing the {@code Game} from its own render loop,
+	 * sets {@code Constants.ACTIVE_RENDERING}
+	 */
+	private Checkbox active_Box;
+
+	/**
+	 * {@code Choice} of which {@code Player}, if any, the computer plays, sets
+	 * {@code Constants.COMPUTER_TAG}
+	 */
+	private Choice opponent_Choice;
+
+	/**
+	 * {@code Choice} of how the computer searches for its moves, sets
+	 * {@code Constants.ENGINE_TYPE}
+	 */
+	private Choice engine_Choice;
+
 	/**
 	 * Default constructor for this {@code LoadScreen}
 	 */
@@ -145,12 +176,19 @@ public class LoadScreen extends JFrame {
 			} catch (NumberFormatException ex) {
 				size = 3;
 				match = 3;
-			} finally {
-				Constants.GAME_SIZE = size;
-				Constants.NUM_TO_MATCH = match - 1;
-				this.dispose();
-				new Game();
 			}
+
+			BoardType type = this.unbounded_Box.getState() ? BoardType.CHUNKED : LoadScreen.chooseBoard(size);
+
+			if (!LoadScreen.fits(this, type, size)) {
+				return;
+			}
+
+			Constants.GAME_SIZE = size;
+			Constants.NUM_TO_MATCH = match - 1;
+			Constants.BOARD_TYPE = type;
+			this.dispose();
+			new Game();
 		});
 		this.panel.add(this.submit_Button);
 
@@ -165,6 +203,33 @@ public class LoadScreen extends JFrame {
 		});
 		this.panel.add(this.load_Button);
 
+		this.unbounded_Box = new Checkbox("Unbounded board (arrow keys pan)");
+		this.panel.add(this.unbounded_Box);
+
+		this.active_Box = new Checkbox("Active rendering", Constants.ACTIVE_RENDERING);
+		this.active_Box.addItemListener((e) -> Constants.ACTIVE_RENDERING = this.active_Box.getState());
+		this.panel.add(this.active_Box);
+
+		this.opponent_Choice = new Choice();
+		this.opponent_Choice.add("Two players");
+		this.opponent_Choice.add("Computer plays X");
+		this.opponent_Choice.add("Computer plays O");
+		this.opponent_Choice
+				.select(Constants.COMPUTER_TAG == null ? 0 : Constants.COMPUTER_TAG == ShapeTag.SHAPE_X ? 1 : 2);
+		this.opponent_Choice.addItemListener((e) -> {
+			int index = this.opponent_Choice.getSelectedIndex();
+			Constants.COMPUTER_TAG = index == 0 ? null : index == 1 ? ShapeTag.SHAPE_X : ShapeTag.SHAPE_O;
+		});
+		this.panel.add(this.opponent_Choice);
+
+		this.engine_Choice = new Choice();
+		this.engine_Choice.add("Alpha-beta search");
+		this.engine_Choice.add("Monte Carlo tree search");
+		this.engine_Choice.select(Constants.ENGINE_TYPE.ordinal());
+		this.engine_Choice.addItemListener(
+				(e) -> Constants.ENGINE_TYPE = EngineType.values()[this.engine_Choice.getSelectedIndex()]);
+		this.panel.add(this.engine_Choice);
+
 		this.setLocationRelativeTo(null);
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		this.setVisible(true);
@@ -173,6 +238,74 @@ public class LoadScreen extends JFrame {
 
 	}
 
+	/**
+	 * Picks the kind of {@code Board} for a new game, the one whose
+	 * {@code Grid} is estimated to take up the least memory
+	 * <p>
+	 * Small boards end up {@code BoardType.DENSE} or {@code BoardType.BITBOARD};
+	 * from about 70 x 70 on, a game's worth of moves in a
+	 * {@code BoardType.SPARSE} board, which keeps no segment index either, costs
+	 * less than a bitboard and the segment index of every cell. Of boards
+	 * estimated equal, {@code BoardType.DENSE} is preferred, then
+	 * {@code BoardType.BITBOARD}, then {@code BoardType.SPARSE}
+	 * 
+	 * @param size number of rows and columns
+	 * @return cheapest {@code BoardType}
+	 */
+	static BoardType chooseBoard(int size) {
+		BoardType cheapest = null;
+		for (BoardType type : new BoardType[] { BoardType.DENSE, BoardType.BITBOARD, BoardType.SPARSE }) {
+			if (cheapest == null || Grid.estimateBytes(type, size) < Grid.estimateBytes(cheapest, size)) {
+				cheapest = type;
+			}
+		}
+		return cheapest;
+	}
+
+	/**
+	 * Determines if a {@code Grid} fits into the memory left for it, telling the
+	 * user if it does not
+	 * 
+	 * @param parent component the message is shown over
+	 * @param type   {@code BoardType} of the Grid
+	 * @param size   number of rows and columns
+	 * @return true if the Grid can be built
+	 */
+	public static boolean fits(Component parent, BoardType type, int size) {
+		long bytes = Grid.estimateBytes(type, size);
+		long budget = LoadScreen.heapBudget();
+		if (bytes <= budget) {
+			return true;
+		}
+		JOptionPane.showMessageDialog(parent,
+				"A " + size + " x " + size + " board needs about " + LoadScreen.megabytes(bytes) + " MB, but only "
+						+ LoadScreen.megabytes(budget)
+						+ " MB of memory is available.\nChoose a smaller board or start with a larger -Xmx.");
+		return false;
+	}
+
+	/**
+	 * Memory a {@code Grid} may take up: half of the heap not yet in use, leaving
+	 * the rest for drawing and the rest of the Game
+	 * 
+	 * @return heap budget in bytes
+	 */
+	private static long heapBudget() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return (runtime.maxMemory() - used) / 2;
+	}
+
+	/**
+	 * Converts bytes to whole megabytes, rounding up
+	 * 
+	 * @param bytes number of bytes
+	 * @return number of megabytes
+	 */
+	private static long megabytes(long bytes) {
+		return (bytes + (1 << 20) - 1) >> 20;
+	}
+
 	/**
 	 * Paints onto the internal {@code JPanel} of this {@code JFrame}
 	 * 
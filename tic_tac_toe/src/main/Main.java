@@ -1,5 +1,7 @@
 package main;
 
+import ai.SolvedTable;
+
 /**
  * Launches the game on the basis of a game name
  * <p>
@@ -19,6 +21,7 @@ public class Main {
 	 * @param args VM parameters at runtime
 	 */
 	public static void main(String[] args) {
+		SolvedTable.loadAll();
 		new LoadScreen();
 	}
 
@@ -3,144 +3,120 @@ package shapes;
 import java.awt.Color;
 import java.awt.Graphics;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-
-import components.Grid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Represents abstract Shape object that can be drawn to the Game JPanel
- * 
+ * <p>
+ * Shapes are flyweights: there is exactly one instance per {@code ShapeTag},
+ * and where a Shape is drawn is decided by the cell it is drawn into
+ *
  * @author Samuel Brenner
- * @version 1.0
+ * @version 2.1
  *
  */
 
-@JsonIgnoreProperties(value = {"bounds"})
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class Shape {
 
 	/**
-	 * Indent amount for a Shape relative to a {@code Game.Box}
+	 * Shared Shape instances, indexed by {@code ShapeTag.ordinal()}
 	 */
-	public final static int INDENT = Grid.BOX_WIDTH / 10 > 0 ? Grid.BOX_WIDTH / 10 : 1;
-
-	public final static int BOUNDS_SIZE = 8;
+	private static final Shape[] INSTANCES = { new Shape(ShapeTag.SHAPE_O), new Shape(ShapeTag.SHAPE_X) };
 
 	/**
-	 * x coordinate for this Shape
+	 * ShapeTage for this Shape
 	 */
-	private int x;
-
-	public int getX() {
-		return x;
-	}
-
-	public void setX(int x) {
-		this.x = x;
-	}
-
-	public int getY() {
-		return y;
-	}
-
-	public void setY(int y) {
-		this.y = y;
-	}
-
-	public void setTag(ShapeTag tag) {
-		this.tag = tag;
-	}
+	private final ShapeTag tag;
 
 	/**
-	 * y coordinate for this Shape
+	 * Constructor
+	 *
+	 * @param tag ShapeTag to identify this Shape
 	 */
-	private int y;
+	private Shape(ShapeTag tag) {
+		this.tag = tag;
+	}
 
 	/**
-	 * ShapeTage for this Shape
+	 * Access to the shared Shape for a {@code ShapeTag}
+	 * <p>
+	 * Also used when reading a Shape from a save file; coordinates stored by
+	 * older saves are ignored, as the position comes from the cell
+	 *
+	 * @param tag ShapeTag to identify the Shape
+	 * @return the Shape for {@code tag}
 	 */
-	private ShapeTag tag;
+	@JsonCreator
+	public static Shape of(@JsonProperty("tag") ShapeTag tag) {
+		return Shape.INSTANCES[tag.ordinal()];
+	}
 
 	/**
-	 * {@code Color} for this Shape when being drawn to the {@code Grid}
+	 * Draws the shape to the JPanel
+	 * <p>
+	 * Copies the glyph from a {@code ShapeAtlas} sheet rather than drawing its
+	 * lines, so drawing many Shapes costs one image copy each, and nothing at all
+	 * for cells outside the clip of g
+	 *
+	 * @param g     Graphics component
+	 * @param x     x coordinate of the upper left corner of the cell
+	 * @param y     y coordinate of the upper left corner of the cell
+	 * @param width width and height of the cell
+	 * @param color {@code Color} to draw this Shape in
+	 * @param atlas {@code ShapeAtlas} of the {@code Grid} being drawn
 	 */
-	private Color color;
+	public void draw(Graphics g, int x, int y, int width, Color color, ShapeAtlas atlas) {
+		if (g.hitClip(x, y, width, width)) {
+			atlas.draw(g, this.tag, x, y, width, color);
+		}
+	}
 
 	/**
-	 * All the bordering shapes around this {@code Shape} Meaning of indecies in
-	 * ascending order: 0 - Top Left, 1 - Top 2, - Top Right, 3 - Right, 4 - Bottom
-	 * Righ,t 5 - Bottom, 6 - Bottom, Left 7 - Left
+	 * Draws the lines of this Shape in the current {@code Color} of g, used to
+	 * render the glyphs of a {@code ShapeAtlas}
+	 *
+	 * @param g     Graphics component
+	 * @param x     x coordinate of the upper left corner of the cell
+	 * @param y     y coordinate of the upper left corner of the cell
+	 * @param width width and height of the cell
 	 */
-	private Shape[] bounds;
+	void render(Graphics g, int x, int y, int width) {
 
-	/**
-	 * Constructor
-	 * 
-	 * @param x   relative x coordinate
-	 * @param y   relative y coordinate
-	 * @param tag ShapeTag to identify this Shape
-	 */
-	public Shape(int x, int y, ShapeTag tag) {
-		this.x = x;
-		this.y = y;
-		this.tag = tag;
-		this.color = Color.GREEN;
+		int indent = Shape.indent(width);
 
-		this.bounds = new Shape[Shape.BOUNDS_SIZE];
+		x += indent;
+		y += indent;
 
-	}
+		width -= 2 * indent;
 
-	public Shape() {
-		this.bounds = new Shape[Shape.BOUNDS_SIZE];
+		if (tag == ShapeTag.SHAPE_O) {
+			g.drawOval(x, y, width, width);
+		} else {
+			g.drawLine(x, y, x + width, y + width);
+			g.drawLine(x, y + width, x + width, y);
+		}
 	}
 
 	/**
-	 * Draws the shape to the JPanel
-	 * 
-	 * @param g Graphics component
+	 * Indent amount for a Shape relative to a cell
+	 *
+	 * @param width width of the cell
+	 * @return indent in pixels, at least 1
 	 */
-	@JsonIgnore
-	public void draw(Graphics g) {
-		
-		g.setColor(this.color);
-
-		int width = Grid.BOX_WIDTH - 2 * Shape.INDENT;
-		
-		if (tag == ShapeTag.SHAPE_O) {
-			g.drawOval(this.x, this.y, width, width);
-		} else {
-			g.drawLine(this.x, this.y, this.x + width, this.y + width);
-			g.drawLine(this.x, this.y + width, this.x + width, this.y);
-		}
+	public static int indent(int width) {
+		return width / 10 > 0 ? width / 10 : 1;
 	}
 
 	/**
 	 * Access to the {@code ShapeTag} object that identifies this Shape
-	 * 
+	 *
 	 * @return ShapeTag that identifies this Shape
 	 */
 	public ShapeTag getTag() {
 		return this.tag;
 	}
 
-	/**
-	 * Sets the color for this {@code Shape} to be drawn to the {@code Grid}
-	 * 
-	 * @param color {@code Color} of this {@code Shape}
-	 */
-	@JsonIgnore
-	public void setColor(Color color) {
-		this.color = color;
-	}
-
-	/**
-	 * Returns this {@code Shape}'s bounds array
-	 * 
-	 * @return array {@code Shape} objects that border this {@code Shape} object
-	 */
-	@JsonIgnore
-	public Shape[] getBounds() {
-		return this.bounds;
-	}
-
 }
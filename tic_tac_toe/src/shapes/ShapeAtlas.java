@@ -0,0 +1,150 @@
+package shapes;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Sheets of pre-rendered {@code Shape} glyphs, one per {@code Color}, so that
+ * drawing a {@code Shape} is a single image copy
+ * <p>
+ * A sheet is one box of the {@code Grid} tall and holds the glyph of every
+ * {@code ShapeTag} side by side, in {@code ShapeTag.ordinal()} order. Sheets
+ * are rendered the first time a {@code Color} is drawn, and all of them are
+ * dropped once a box of another width is drawn, as when the {@code Grid} is
+ * zoomed
+ * <p>
+ * A glyph covers its box but for the first row and column, where the
+ * {@code Grid} draws its lines, and is rendered onto the background of the
+ * box. Glyphs are therefore opaque, and copying one is a plain copy of its rows
+ * rather than a blend of every pixel
+ * <p>
+ * Every {@code Grid} keeps an atlas of its own, used only by the thread
+ * drawing that Grid, so Grids drawn by different threads or zoomed to different
+ * widths never share sheets
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+public final class ShapeAtlas {
+
+	/**
+	 * {@code Color} of each sheet, in the order they were rendered
+	 */
+	private Color[] colors = new Color[4];
+
+	/**
+	 * Glyphs of each sheet by {@code ShapeTag.ordinal()}, views sharing the
+	 * pixels of the sheet, paired with {@code colors}
+	 */
+	private BufferedImage[][] sheets = new BufferedImage[4][];
+
+	/**
+	 * Number of sheets rendered
+	 */
+	private int count;
+
+	/**
+	 * Width of a box the sheets were rendered for
+	 */
+	private int box_Width;
+
+	/**
+	 * {@code Color} of a box without a {@code Shape}
+	 */
+	private final Color background;
+
+	/**
+	 * Constructs an empty ShapeAtlas
+	 *
+	 * @param background {@code Color} of a box without a {@code Shape}
+	 */
+	public ShapeAtlas(Color background) {
+		this.background = background;
+	}
+
+	/**
+	 * Copies the glyph of a {@code Shape} into a box of the {@code Grid}
+	 *
+	 * @param g     Graphics component
+	 * @param tag   {@code ShapeTag} of the glyph
+	 * @param x     x coordinate of the upper left corner of the cell
+	 * @param y     y coordinate of the upper left corner of the cell
+	 * @param width width and height of the cell
+	 * @param color {@code Color} of the glyph
+	 */
+	void draw(Graphics g, ShapeTag tag, int x, int y, int width, Color color) {
+		g.drawImage(this.sheet(g, width, color)[tag.ordinal()], x + 1, y + 1, null);
+	}
+
+	/**
+	 * Finds the sheet for a {@code Color}, rendering it if there is none yet
+	 *
+	 * @param g     Graphics component the sheet will be copied to
+	 * @param width width and height of a box
+	 * @param color {@code Color} of the sheet
+	 * @return glyphs in {@code color}, by {@code ShapeTag.ordinal()}
+	 */
+	private BufferedImage[] sheet(Graphics g, int width, Color color) {
+		if (this.box_Width != width) {
+			Arrays.fill(this.colors, null);
+			Arrays.fill(this.sheets, null);
+			this.count = 0;
+			this.box_Width = width;
+		}
+
+		for (int i = 0; i < this.count; i++) {
+			if (this.colors[i].equals(color)) {
+				return this.sheets[i];
+			}
+		}
+
+		if (this.count == this.colors.length) {
+			this.colors = Arrays.copyOf(this.colors, 2 * this.count);
+			this.sheets = Arrays.copyOf(this.sheets, 2 * this.count);
+		}
+
+		BufferedImage[] sheet = this.render(g, width, color);
+		this.colors[this.count] = color;
+		this.sheets[this.count] = sheet;
+		this.count++;
+		return sheet;
+	}
+
+	/**
+	 * Renders every glyph in one {@code Color} onto a sheet of the background
+	 *
+	 * @param g     Graphics component the sheet will be copied to, used to
+	 *              create an image that is quick to copy to it
+	 * @param width width and height of a box
+	 * @param color {@code Color} of the glyphs
+	 * @return glyphs of the new sheet, by {@code ShapeTag.ordinal()}
+	 */
+	private BufferedImage[] render(Graphics g, int width, Color color) {
+		int tags = ShapeTag.values().length;
+
+		BufferedImage sheet = g instanceof Graphics2D
+				? ((Graphics2D) g).getDeviceConfiguration().createCompatibleImage(tags * width, width)
+				: new BufferedImage(tags * width, width, BufferedImage.TYPE_INT_RGB);
+
+		BufferedImage[] glyphs = new BufferedImage[tags];
+		Graphics sheetGraphics = sheet.getGraphics();
+		sheetGraphics.setColor(this.background);
+		sheetGraphics.fillRect(0, 0, tags * width, width);
+		sheetGraphics.setColor(color);
+		for (int ordinal = 0; ordinal < tags; ordinal++) {
+			Shape.of(ShapeTag.fromOrdinal(ordinal)).render(sheetGraphics, ordinal * width, 0, width);
+			// a Shape is indented at least a pixel, so it never reaches the lines
+			glyphs[ordinal] = sheet.getSubimage(ordinal * width + 1, 1, width - 1, width - 1);
+		}
+		sheetGraphics.dispose();
+
+		return glyphs;
+	}
+
+}
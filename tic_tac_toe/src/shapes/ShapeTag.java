@@ -10,6 +10,22 @@ package shapes;
 
 public enum ShapeTag {
 	
-	SHAPE_O, SHAPE_X
+	SHAPE_O, SHAPE_X;
+
+	/**
+	 * Every ShapeTag by ordinal, kept because {@code values()} copies its array on
+	 * each call
+	 */
+	private static final ShapeTag[] VALUES = ShapeTag.values();
+
+	/**
+	 * Access to the ShapeTag with a given ordinal, without allocating
+	 * 
+	 * @param ordinal {@code ordinal()} of the ShapeTag
+	 * @return ShapeTag with that ordinal
+	 */
+	public static ShapeTag fromOrdinal(int ordinal) {
+		return ShapeTag.VALUES[ordinal];
+	}
 
 }
@@ -0,0 +1,200 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import board.BoardType;
+import constants.Constants;
+import shapes.ShapeTag;
+
+/**
+ * Replays scripted moves through {@code Grid.placeShape}, the win check and
+ * {@code HUD.draw} on every {@code BoardType}, and checks that they allocate
+ * next to nothing once a round is under way
+ * <p>
+ * The script clicks the middle of every visible box in a shuffled order, and
+ * the board is cleared whenever it runs out, outside of what is measured. The
+ * whole script is played once unmeasured first, so that class loading, the
+ * growth of the move list and the JIT are over before allocations are counted
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+class MovePipelineAllocationTest {
+
+	/**
+	 * Number of moves replayed per {@code BoardType}
+	 */
+	private static final int MOVES = 3000;
+
+	/**
+	 * Number of rows and columns of the bounded boards, and of the view of
+	 * unbounded ones
+	 */
+	private static final int SIZE = 40;
+
+	/**
+	 * Number of cells in a row needed to win; {@code Constants.NUM_TO_MATCH}
+	 * counts the other Shapes a Shape has to line up with, so it is set to one
+	 * less, as {@code LoadScreen} does with the number typed in
+	 */
+	private static final int MATCH = 5;
+
+	/**
+	 * Most bytes a move may allocate on average, leaving room for the odd
+	 * allocation of the JVM itself rather than of the game
+	 */
+	private static final double MAX_BYTES_PER_MOVE = 16;
+
+	/**
+	 * {@code Constants.GAME_SIZE} before the test
+	 */
+	private int game_Size;
+
+	/**
+	 * {@code Constants.NUM_TO_MATCH} before the test
+	 */
+	private int num_To_Match;
+
+	/**
+	 * {@code Constants.BOARD_TYPE} before the test
+	 */
+	private BoardType board_Type;
+
+	/**
+	 * Saves the {@code Constants} this test changes
+	 */
+	@BeforeEach
+	void saveConstants() {
+		this.game_Size = Constants.GAME_SIZE;
+		this.num_To_Match = Constants.NUM_TO_MATCH;
+		this.board_Type = Constants.BOARD_TYPE;
+	}
+
+	/**
+	 * Restores the {@code Constants} this test changed
+	 */
+	@AfterEach
+	void restoreConstants() {
+		Constants.GAME_SIZE = this.game_Size;
+		Constants.NUM_TO_MATCH = this.num_To_Match;
+		Constants.BOARD_TYPE = this.board_Type;
+	}
+
+	/**
+	 * Checks the bytes allocated per move on every {@code BoardType}
+	 */
+	@Test
+	void movesAllocateNothingOnEveryBoardType() {
+		for (BoardType type : BoardType.values()) {
+			double bytes = MovePipelineAllocationTest.bytesPerMove(type);
+			assertTrue(bytes <= MovePipelineAllocationTest.MAX_BYTES_PER_MOVE,
+					type + " allocated " + bytes + " bytes per move");
+		}
+	}
+
+	/**
+	 * Replays the script on a new {@code Grid} of a type, twice, and measures
+	 * the second time
+	 *
+	 * @param type {@code BoardType} to play on
+	 * @return average number of bytes allocated per move
+	 */
+	private static double bytesPerMove(BoardType type) {
+		Constants.GAME_SIZE = MovePipelineAllocationTest.SIZE;
+		Constants.NUM_TO_MATCH = MovePipelineAllocationTest.MATCH - 1;
+		Constants.BOARD_TYPE = type;
+
+		Grid grid = new Grid(0, 0);
+		HUD hud = new HUD(new Player(ShapeTag.SHAPE_X), new Player(ShapeTag.SHAPE_O), ShapeTag.SHAPE_X);
+		BufferedImage image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+		Graphics g = image.getGraphics();
+		int[][] script = MovePipelineAllocationTest.script(grid);
+
+		MovePipelineAllocationTest.replay(grid, hud, g, script);
+		long bytes = MovePipelineAllocationTest.replay(grid, hud, g, script);
+		g.dispose();
+		return (double) bytes / MovePipelineAllocationTest.MOVES;
+	}
+
+	/**
+	 * Clicks the middle of every visible box of a {@code Grid}, in a shuffled
+	 * order that is the same on every run
+	 *
+	 * @param grid Grid to click on
+	 * @return x and y coordinates of each click
+	 */
+	private static int[][] script(Grid grid) {
+		int width = grid.getBox_Width();
+		int boxes = Math.min(grid.getVisible_Boxes(), MovePipelineAllocationTest.SIZE);
+		int[][] clicks = new int[boxes * boxes][];
+		for (int i = 0; i < clicks.length; i++) {
+			clicks[i] = new int[] { grid.getX() + i % boxes * width + width / 2,
+					grid.getY() + i / boxes * width + width / 2 };
+		}
+
+		Random random = new Random(1);
+		for (int i = clicks.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int[] click = clicks[i];
+			clicks[i] = clicks[j];
+			clicks[j] = click;
+		}
+		return clicks;
+	}
+
+	/**
+	 * Plays {@code MOVES} moves from a script, starting from an empty board and
+	 * clearing it whenever the script runs out
+	 *
+	 * @param grid   Grid to play on
+	 * @param hud    HUD to draw after every move
+	 * @param g      {@code Graphics} to draw the HUD and the Grid onto
+	 * @param script clicks to play
+	 * @return bytes allocated by the current thread while playing, not counting
+	 *         the clearing and the drawing of the {@code Grid} that carries it
+	 *         out, as it does between rounds
+	 */
+	private static long replay(Grid grid, HUD hud, Graphics g, int[][] script) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		grid.clear();
+		grid.draw(g);
+		long bytes = 0;
+		int next = 0;
+		long start = threads.getThreadAllocatedBytes(thread);
+		for (int move = 0; move < MovePipelineAllocationTest.MOVES; move++) {
+			if (next == script.length) {
+				bytes += threads.getThreadAllocatedBytes(thread) - start;
+				grid.clear();
+				grid.draw(g);
+				next = 0;
+				start = threads.getThreadAllocatedBytes(thread);
+			}
+
+			ShapeTag tag = move % 2 == 0 ? ShapeTag.SHAPE_X : ShapeTag.SHAPE_O;
+			int[] click = script[next++];
+			assertTrue(grid.placeShape(tag, click[0], click[1]));
+			grid.checkWin();
+			grid.isDrawn();
+			grid.isFilled();
+			hud.changeTag(tag == ShapeTag.SHAPE_X ? ShapeTag.SHAPE_O : ShapeTag.SHAPE_X);
+			hud.draw(g);
+		}
+		return bytes + threads.getThreadAllocatedBytes(thread) - start;
+	}
+
+}
@@ -0,0 +1,125 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import board.BoardType;
+import components.Grid;
+import constants.Constants;
+import shapes.ShapeTag;
+
+/**
+ * Checks the kind of {@code Board} {@code LoadScreen} starts a game on, and
+ * that a large board started that way stores only the moves played
+ *
+ * @author Samuel Brenner
+ * @version 2.1
+ * @since 2.1
+ *
+ */
+
+class LoadScreenTest {
+
+	/**
+	 * Largest number of rows and columns the {@code LoadScreen} accepts
+	 */
+	private static final int LARGEST = 3 * Game.HEIGHT / 4;
+
+	/**
+	 * Number of cells in a row needed to win
+	 */
+	private static final int MATCH = 5;
+
+	/**
+	 * Most bytes building a {@code Grid} of the largest size may allocate, a
+	 * fifth of what a bitboard and a segment index of every cell take
+	 */
+	private static final long MAX_GRID_BYTES = 1 << 20;
+
+	/**
+	 * {@code Constants.GAME_SIZE} before the test
+	 */
+	private int game_Size;
+
+	/**
+	 * {@code Constants.NUM_TO_MATCH} before the test
+	 */
+	private int num_To_Match;
+
+	/**
+	 * {@code Constants.BOARD_TYPE} before the test
+	 */
+	private BoardType board_Type;
+
+	/**
+	 * Saves the {@code Constants} this test changes
+	 */
+	@BeforeEach
+	void saveConstants() {
+		this.game_Size = Constants.GAME_SIZE;
+		this.num_To_Match = Constants.NUM_TO_MATCH;
+		this.board_Type = Constants.BOARD_TYPE;
+	}
+
+	/**
+	 * Restores the {@code Constants} this test changed
+	 */
+	@AfterEach
+	void restoreConstants() {
+		Constants.GAME_SIZE = this.game_Size;
+		Constants.NUM_TO_MATCH = this.num_To_Match;
+		Constants.BOARD_TYPE = this.board_Type;
+	}
+
+	/**
+	 * Checks that small boards keep a cell per box and large ones only their
+	 * moves
+	 */
+	@Test
+	void choosesBoardBySize() {
+		assertEquals(BoardType.DENSE, LoadScreen.chooseBoard(3));
+		assertEquals(BoardType.BITBOARD, LoadScreen.chooseBoard(15));
+		assertEquals(BoardType.SPARSE, LoadScreen.chooseBoard(100));
+		assertEquals(BoardType.SPARSE, LoadScreen.chooseBoard(LoadScreenTest.LARGEST));
+	}
+
+	/**
+	 * Builds a {@code Grid} of the largest size as Start does, and plays a round
+	 * on it to a win
+	 */
+	@Test
+	void largestBoardPlaysOnSparseBoard() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		// NUM_TO_MATCH counts the other Shapes a Shape lines up with, as Start sets it
+		Constants.GAME_SIZE = LoadScreenTest.LARGEST;
+		Constants.NUM_TO_MATCH = LoadScreenTest.MATCH - 1;
+		Constants.BOARD_TYPE = LoadScreen.chooseBoard(LoadScreenTest.LARGEST);
+
+		long start = threads.getThreadAllocatedBytes(thread);
+		Grid grid = new Grid(0, 0);
+		long bytes = threads.getThreadAllocatedBytes(thread) - start;
+		assertTrue(bytes <= LoadScreenTest.MAX_GRID_BYTES, "building the Grid allocated " + bytes + " bytes");
+
+		int size = LoadScreenTest.LARGEST;
+		int middle = size / 2 * size + size / 2;
+		for (int move = 0; move < LoadScreenTest.MATCH; move++) {
+			assertEquals(null, grid.checkWin());
+			assertTrue(grid.placeShapeAt(ShapeTag.SHAPE_X, middle + move));
+			if (move < LoadScreenTest.MATCH - 1) {
+				assertTrue(grid.placeShapeAt(ShapeTag.SHAPE_O, middle + size + move));
+			}
+		}
+		assertEquals(ShapeTag.SHAPE_X, grid.checkWin());
+		assertEquals(2 * LoadScreenTest.MATCH - 1, grid.getFilledBoxes());
+	}
+
+}